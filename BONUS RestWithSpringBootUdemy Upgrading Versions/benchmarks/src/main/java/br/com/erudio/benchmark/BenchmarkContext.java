@@ -0,0 +1,32 @@
+package br.com.erudio.benchmark;
+
+import br.com.erudio.Startup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Sobe a aplicação com H2 em memória para os benchmarks que passam pelo banco.
+// Para medir no MySQL passe -Dspring.datasource.url=... (e demais propriedades) na linha de comando.
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(Startup.class)
+                .run(
+                        argument("server.port", "0"),
+                        argument("spring.datasource.url", "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                        argument("spring.datasource.driverClassName", "org.h2.Driver"),
+                        argument("spring.datasource.username", "sa"),
+                        argument("spring.datasource.password", ""),
+                        argument("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+                        argument("spring.jpa.hibernate.ddl-auto", "create"),
+                        argument("spring.flyway.enabled", "false"),
+                        argument("search.index.enabled", "false"));
+    }
+
+    // Os argumentos sobrepõem o application.properties; -D na linha de comando ainda tem a palavra final
+    private static String argument(String name, String defaultValue) {
+        return "--" + name + "=" + System.getProperty(name, defaultValue);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.erudio.benchmark;
+
+import br.com.erudio.converter.DozerConverter;
+import br.com.erudio.converter.mocks.MockBook;
+import br.com.erudio.converter.mocks.MockPerson;
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.model.Person;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Compara os mappers gerados (DozerConverter) com o mapeamento reflexivo do Dozer
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    private Mapper dozer;
+    private Person person;
+    private PersonVO personVO;
+    private Book book;
+    private BookVO bookVO;
+
+    @Setup
+    public void setUp() {
+        dozer = DozerBeanMapperBuilder.buildDefault();
+        person = new MockPerson().mockEntity();
+        personVO = new MockPerson().mockVO();
+        book = new MockBook().mockEntity();
+        bookVO = new MockBook().mockVO();
+    }
+
+    @Benchmark
+    public PersonVO personToVOGenerated() {
+        return DozerConverter.parseObject(person, PersonVO.class);
+    }
+
+    @Benchmark
+    public PersonVO personToVODozer() {
+        return dozer.map(person, PersonVO.class);
+    }
+
+    @Benchmark
+    public Person personToEntityGenerated() {
+        return DozerConverter.parseObject(personVO, Person.class);
+    }
+
+    @Benchmark
+    public Person personToEntityDozer() {
+        return dozer.map(personVO, Person.class);
+    }
+
+    @Benchmark
+    public BookVO bookToVOGenerated() {
+        return DozerConverter.parseObject(book, BookVO.class);
+    }
+
+    @Benchmark
+    public BookVO bookToVODozer() {
+        return dozer.map(book, BookVO.class);
+    }
+
+    @Benchmark
+    public Book bookToEntityGenerated() {
+        return DozerConverter.parseObject(bookVO, Book.class);
+    }
+
+    @Benchmark
+    public Book bookToEntityDozer() {
+        return dozer.map(bookVO, Book.class);
+    }
+}
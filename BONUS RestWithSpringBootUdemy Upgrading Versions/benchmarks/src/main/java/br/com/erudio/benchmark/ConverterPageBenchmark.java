@@ -0,0 +1,59 @@
+package br.com.erudio.benchmark;
+
+import br.com.erudio.converter.DozerConverter;
+import br.com.erudio.converter.mocks.MockBook;
+import br.com.erudio.converter.mocks.MockPerson;
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.model.Person;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Conversão de páginas inteiras, como nos endpoints de listagem
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterPageBenchmark {
+
+    @Param({ "12", "100", "1000" })
+    private int pageSize;
+
+    private List<Person> persons;
+    private List<PersonVO> personVOs;
+    private List<Book> books;
+    private List<BookVO> bookVOs;
+
+    @Setup
+    public void setUp() {
+        persons = new MockPerson().mockEntityList(pageSize);
+        personVOs = new MockPerson().mockVOList(pageSize);
+        books = new MockBook().mockEntityList(pageSize);
+        bookVOs = new MockBook().mockVOList(pageSize);
+    }
+
+    @Benchmark
+    public List<PersonVO> personEntitiesToVOs() {
+        return DozerConverter.parseListObjects(persons, PersonVO.class);
+    }
+
+    @Benchmark
+    public List<Person> personVOsToEntities() {
+        return DozerConverter.parseListObjects(personVOs, Person.class);
+    }
+
+    @Benchmark
+    public List<BookVO> bookEntitiesToVOs() {
+        return DozerConverter.parseListObjects(books, BookVO.class);
+    }
+
+    @Benchmark
+    public List<Book> bookVOsToEntities() {
+        return DozerConverter.parseListObjects(bookVOs, Book.class);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.erudio.benchmark;
+
+import br.com.erudio.secutiry.jwt.JwtTokenProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo de emitir e validar o token JWT que acompanha cada requisição
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+    private Cache<String, Claims> verifiedTokens;
+    private String tokenHash;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        tokenProvider.init();
+        token = tokenProvider.createToken("leandro", List.of("ADMIN", "MANAGER"));
+        verifiedTokens = (Cache<String, Claims>) ReflectionTestUtils.getField(tokenProvider, "verifiedTokens");
+        tokenHash = ReflectionTestUtils.invokeMethod(JwtTokenProvider.class, "sha256", token);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken("leandro", List.of("ADMIN", "MANAGER"));
+    }
+
+    // Depois da primeira chamada vem do cache de tokens já verificados, como nas requisições seguintes do cliente
+    @Benchmark
+    public Claims verifyToken() {
+        return tokenProvider.verifyToken(token);
+    }
+
+    // Primeira requisição com um token: a entrada sai do cache antes, então assinatura e claims são verificadas de fato
+    @Benchmark
+    public Claims verifyTokenCold() {
+        verifiedTokens.invalidate(tokenHash);
+        return tokenProvider.verifyToken(token);
+    }
+}
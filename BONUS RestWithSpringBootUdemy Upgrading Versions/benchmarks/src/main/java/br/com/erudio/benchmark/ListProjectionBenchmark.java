@@ -0,0 +1,63 @@
+package br.com.erudio.benchmark;
+
+import br.com.erudio.converter.DozerConverter;
+import br.com.erudio.converter.mocks.MockPerson;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.repository.PersonRepository;
+import br.com.erudio.services.PersonServices;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Página da listagem: entidades gerenciadas + conversão contra projeção "SELECT new" em transação read-only.
+// Rode com -prof gc para comparar a alocação por página (gc.alloc.rate.norm).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListProjectionBenchmark {
+
+    @Param({ "12", "100" })
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private PersonServices services;
+    private PersonRepository repository;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("projection");
+        services = context.getBean(PersonServices.class);
+        repository = context.getBean(PersonRepository.class);
+
+        List<PersonVO> persons = new MockPerson().mockVOList(5000);
+        persons.forEach(p -> p.setEnabled(true));
+        services.createAll(persons);
+
+        pageable = PageRequest.of(3, pageSize, Sort.by(Sort.Direction.ASC, "firstName"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<PersonVO> entitiesAndMapping() {
+        return repository.findAll(pageable).map(p -> DozerConverter.parseObject(p, PersonVO.class));
+    }
+
+    @Benchmark
+    public Page<PersonVO> projection() {
+        return services.findAll(pageable);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.erudio.benchmark;
+
+import br.com.erudio.converter.mocks.MockPerson;
+import br.com.erudio.data.vo.v1.BatchResultVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.repository.PersonRepository;
+import br.com.erudio.services.PersonServices;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Inserção de N pessoas: POST /batch (lotes JDBC) contra N chamadas ao create de um item
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    @Param({ "100", "1000" })
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private PersonServices services;
+    private PersonRepository repository;
+    private List<PersonVO> persons;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("persistence");
+        services = context.getBean(PersonServices.class);
+        repository = context.getBean(PersonRepository.class);
+
+        persons = new ArrayList<>();
+        for (PersonVO person : new MockPerson().mockVOList(size)) {
+            person.setKey(null);
+            person.setEnabled(true);
+            persons.add(person);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clean() {
+        repository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchResultVO createBatch() {
+        return services.createAll(persons);
+    }
+
+    @Benchmark
+    public List<PersonVO> createOneByOne() {
+        List<PersonVO> created = new ArrayList<>(persons.size());
+        for (PersonVO person : persons) {
+            created.add(services.create(person));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.erudio.benchmark;
+
+import br.com.erudio.controller.PersonController;
+import br.com.erudio.controller.SelfLinkFactory;
+import br.com.erudio.converter.mocks.MockPerson;
+import br.com.erudio.data.vo.v1.PersonVO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Custo dos self links de uma página inteira: linkTo(methodOn(...)) por item contra o template
+// montado uma vez por requisição. Cada invocação simula uma requisição nova (template não aproveitado).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelfLinkBenchmark {
+
+    private static final SelfLinkFactory SELF_LINKS =
+            new SelfLinkFactory(PersonController.class, () -> methodOn(PersonController.class).findById(null));
+
+    @Param({ "12", "100" })
+    private int pageSize;
+
+    private List<PersonVO> page;
+
+    @Setup
+    public void setUp() {
+        page = new MockPerson().mockVOList(pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/person/v1");
+        request.setServerName("api.erudio.com.br");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Benchmark
+    public List<PersonVO> methodOnPerItem() {
+        newRequest();
+        for (PersonVO p : page) {
+            p.removeLinks();
+            p.add(linkTo(methodOn(PersonController.class).findById(p.getKey())).withSelfRel());
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<PersonVO> precompiledTemplate() {
+        newRequest();
+        SelfLinkFactory.Template selfLink = SELF_LINKS.template();
+        for (PersonVO p : page) {
+            p.removeLinks();
+            p.add(selfLink.expand(p.getKey()));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.erudio.benchmark;
+
+import br.com.erudio.converter.mocks.MockBook;
+import br.com.erudio.converter.mocks.MockPerson;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.converter.YamlJackson2HttpMessageConverter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.HalConfiguration;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização das páginas com links HATEOAS nos três formatos aceitos pela API
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final String BASE_URI = "http://localhost:8080/api/";
+
+    @Param({ "12", "100", "1000" })
+    private int pageSize;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper xmlMapper;
+    private ObjectMapper yamlMapper;
+
+    private CollectionModel<PersonVO> persons;
+    private CollectionModel<BookVO> books;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .modules(new Jackson2HalModule())
+                .handlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new EvoInflectorLinkRelationProvider(),
+                        CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY, new HalConfiguration()))
+                .build();
+        xmlMapper = Jackson2ObjectMapperBuilder.xml()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        yamlMapper = new YamlJackson2HttpMessageConverter().getObjectMapper();
+
+        List<PersonVO> personVOs = new MockPerson().mockVOList(pageSize);
+        personVOs.forEach(p -> p.add(Link.of(BASE_URI + "person/v1/" + p.getKey())));
+        persons = CollectionModel.of(personVOs, Link.of(BASE_URI + "person/v1?page=0&limit=" + pageSize));
+
+        List<BookVO> bookVOs = new MockBook().mockVOList(pageSize);
+        bookVOs.forEach(b -> b.add(Link.of(BASE_URI + "book/v1/" + b.getKey())));
+        books = CollectionModel.of(bookVOs);
+    }
+
+    @Benchmark
+    public byte[] personsJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(persons);
+    }
+
+    @Benchmark
+    public byte[] personsXml() throws JsonProcessingException {
+        return xmlMapper.writeValueAsBytes(persons);
+    }
+
+    @Benchmark
+    public byte[] personsYaml() throws JsonProcessingException {
+        return yamlMapper.writeValueAsBytes(persons);
+    }
+
+    @Benchmark
+    public byte[] booksJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] booksXml() throws JsonProcessingException {
+        return xmlMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] booksYaml() throws JsonProcessingException {
+        return yamlMapper.writeValueAsBytes(books);
+    }
+}
@@ -4,9 +4,11 @@ import br.com.erudio.config.FileStorageConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties({FileStorageConfig.class})
+@EnableScheduling
 public class Startup {
     public static void main(String[] args) {
         SpringApplication.run(Startup.class, args);
@@ -0,0 +1,36 @@
+package br.com.erudio.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PERSONS = "persons";
+    public static final String BOOKS = "books";
+    public static final String USERS = "users";
+
+    // Caffeine (W-TinyLFU) com tamanho máximo e TTL por cache; recordStats alimenta as métricas do actuator
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.persons.spec}") String personsSpec,
+                                     @Value("${cache.books.spec}") String booksSpec,
+                                     @Value("${cache.users.spec}") String usersSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PERSONS, Caffeine.from(personsSpec).recordStats().build());
+        cacheManager.registerCustomCache(BOOKS, Caffeine.from(booksSpec).recordStats().build());
+        cacheManager.registerCustomCache(USERS, Caffeine.from(usersSpec).recordStats().build());
+        cacheManager.setCacheNames(Collections.emptyList());
+
+        // Evict e put só acontecem depois do commit, para o cache nunca guardar dados de uma transação desfeita
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
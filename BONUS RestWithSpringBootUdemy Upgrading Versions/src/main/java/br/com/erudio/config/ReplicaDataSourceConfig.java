@@ -0,0 +1,91 @@
+package br.com.erudio.config;
+
+import br.com.erudio.datasource.ReadReplicaRoutingDataSource;
+import br.com.erudio.datasource.ReplicaLagMonitor;
+import br.com.erudio.datasource.ReplicaRead;
+import br.com.erudio.datasource.ReplicaReadInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Só entra em ação quando datasource.replica.url está configurada; sem ela fica o DataSource padrão do Spring Boot.
+// Os pools não são beans: com mais de um DataSource no contexto o inicializador de DataSource do Boot entra em ciclo.
+@Configuration
+@ConditionalOnProperty("datasource.replica.url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new CopyOnWriteArrayList<>();
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, ReplicaDataSourceProperties replica,
+                                               Environment environment) {
+        HikariDataSource replicaPool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replica.getUrl())
+                .username(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername())
+                .password(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword())
+                .build();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(pool(replicaPool, "datasource.replica.hikari", environment),
+                replica.getLagQuery(), replica.getLagColumn(), replica.getMaxLagSeconds());
+        monitor.refresh();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, ReplicaLagMonitor replicaLagMonitor,
+                                 Environment environment) {
+        HikariDataSource primaryPool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+                pool(primaryPool, "spring.datasource.hikari", environment), replicaLagMonitor.getReplica(), replicaLagMonitor));
+    }
+
+    // Papel de infraestrutura: sem o starter de AOP só o auto-proxy de infraestrutura (o mesmo de @Transactional) está ativo
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor replicaReadAdvisor() {
+        return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(ReplicaRead.class),
+                new ReplicaReadInterceptor());
+    }
+
+    // Com o open-in-view a sessão vive a requisição toda; a conexão precisa ser devolvida a cada transação
+    // para que uma escrita depois de uma leitura não reaproveite a conexão da réplica
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(HikariDataSource pool, String hikariPrefix, Environment environment) {
+        Binder.get(environment).bind(hikariPrefix, Bindable.ofInstance(pool));
+        pools.add(pool);
+        return pool;
+    }
+}
@@ -1,26 +1,51 @@
 package br.com.erudio.config;
 
+import br.com.erudio.secutiry.ConfigurableBCryptPasswordEncoder;
 import br.com.erudio.secutiry.jwt.JwtConfigurer;
 import br.com.erudio.secutiry.jwt.JwtTokenProvider;
+import br.com.erudio.secutiry.ratelimit.RateLimitFilter;
+import br.com.erudio.secutiry.ratelimit.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Hashes novos usam o encoder configurado, com o prefixo {id}; os hashes antigos, sem prefixo, são BCrypt.
+    // No login com sucesso o DaoAuthenticationProvider refaz o hash que estiver em outro formato ou custo.
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
-        return bCryptPasswordEncoder;
+    public PasswordEncoder passwordEncoder(@Value("${security.password.encoder:bcrypt}") String encoderId,
+                                           @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new ConfigurableBCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder());
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return passwordEncoder;
     }
 
     @Bean
@@ -35,10 +60,12 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                     .authorizeRequests()
-                    .antMatchers("/auth/signin", "api/docs/**", "swagger-ui.html**").permitAll()
-                    .antMatchers("/api/**").authenticated()
+                    .antMatchers("/auth/signin", "/auth/refresh", "api/docs/**", "swagger-ui.html**", "/actuator/health").permitAll()
+                    .antMatchers("/api/**", "/actuator/**").authenticated()
                     .antMatchers("/users").denyAll()
                 .and()
-                .apply(new JwtConfigurer(tokenProvider));
+                .apply(new JwtConfigurer(tokenProvider, rateLimitProperties.isEnabled()
+                        ? new RateLimitFilter(rateLimitProperties, tokenProvider, objectMapper)
+                        : null));
     }
 }
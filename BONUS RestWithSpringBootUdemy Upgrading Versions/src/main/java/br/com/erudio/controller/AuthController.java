@@ -1,9 +1,13 @@
 package br.com.erudio.controller;
 
-import br.com.erudio.data.model.User;
-import br.com.erudio.repository.UserRepository;
+import br.com.erudio.exception.InvalidJwtAuthenticationException;
 import br.com.erudio.secutiry.AccountCredentialsVO;
+import br.com.erudio.secutiry.CachedUserDetails;
+import br.com.erudio.secutiry.RefreshTokenVO;
+import br.com.erudio.secutiry.SigninBulkhead;
 import br.com.erudio.secutiry.jwt.JwtTokenProvider;
+import br.com.erudio.secutiry.jwt.RefreshTokenService;
+import br.com.erudio.services.UserServices;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -20,6 +25,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.springframework.http.ResponseEntity.ok;
 
@@ -35,34 +41,69 @@ public class AuthController {
     JwtTokenProvider tokenProvider;
 
     @Autowired
-    UserRepository repository;
+    SigninBulkhead signinBulkhead;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    UserServices userServices;
 
     @Operation(summary = "Authenticate a user by credentials")
     @PostMapping(value = "/signin", produces = { "application/json", "application/xml", "application/x-yaml" },
             consumes = { "application/json", "application/xml", "application/x-yaml" })
-    public ResponseEntity signin(@RequestBody AccountCredentialsVO data) {
+    public CompletableFuture<ResponseEntity> signin(@RequestBody AccountCredentialsVO data) {
+        return signinBulkhead.submit(() -> authenticate(data));
+    }
+
+    private ResponseEntity authenticate(AccountCredentialsVO data) {
         try {
             String username = data.getUsername();
             String password = data.getPassword();
 
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
-
-            User user = repository.findByUserName(username);
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password));
 
+            // O principal já é o usuário carregado pelo UserServices, sem nova consulta ao banco
             String token;
-            if (user != null) {
+            if (authentication.getPrincipal() instanceof CachedUserDetails) {
+                CachedUserDetails user = (CachedUserDetails) authentication.getPrincipal();
                 token = tokenProvider.createToken(username, user.getRoles());
             } else {
                 throw new UsernameNotFoundException("Username + " + username + " not found!");
             }
 
-            Map<Object, Object> model = new HashMap<>();
-            model.put("username", username);
-            model.put("token", token);
-
-            return ok(model);
+            return ok(tokens(username, token));
         } catch (AuthenticationException e) {
             throw new BadCredentialsException("Invalid username/password supplied!");
         }
     }
+
+    // Troca o refresh token por um novo par de tokens sem BCrypt: uma consulta pela chave primária
+    // do token e o usuário vem do cache do UserServices
+    @Operation(summary = "Issue a new access token from a refresh token")
+    @PostMapping(value = "/refresh", produces = { "application/json", "application/xml", "application/x-yaml" },
+            consumes = { "application/json", "application/xml", "application/x-yaml" })
+    public ResponseEntity refresh(@RequestBody RefreshTokenVO data) {
+        String username = refreshTokenService.consume(data.getRefreshToken());
+        CachedUserDetails user;
+        try {
+            user = (CachedUserDetails) userServices.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            throw new InvalidJwtAuthenticationException("Expired or invalid refresh token");
+        }
+        if (!user.isEnabled() || !user.isAccountNonLocked() || !user.isAccountNonExpired() || !user.isCredentialsNonExpired()) {
+            refreshTokenService.revokeAll(username);
+            throw new InvalidJwtAuthenticationException("Expired or invalid refresh token");
+        }
+        return ok(tokens(username, tokenProvider.createToken(username, user.getRoles())));
+    }
+
+    private Map<Object, Object> tokens(String username, String token) {
+        Map<Object, Object> model = new HashMap<>();
+        model.put("username", username);
+        model.put("token", token);
+        model.put("refreshToken", refreshTokenService.create(username));
+        return model;
+    }
 }
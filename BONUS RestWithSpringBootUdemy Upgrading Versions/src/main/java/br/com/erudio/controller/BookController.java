@@ -1,17 +1,35 @@
 package br.com.erudio.controller;
 
+import br.com.erudio.data.vo.v1.BatchDeleteResultVO;
+import br.com.erudio.data.vo.v1.BatchResultVO;
+import br.com.erudio.data.vo.v1.PagedListVO;
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.export.ExportFormat;
+import br.com.erudio.pagination.KeysetCursor;
+import br.com.erudio.pagination.KeysetSlice;
+import br.com.erudio.search.SearchMode;
+import br.com.erudio.services.ApproximateCountServices;
 import br.com.erudio.services.BookServices;
+import br.com.erudio.services.ExportServices;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -22,58 +40,161 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/book/v1")
 public class BookController {
 
+    private static final SelfLinkFactory SELF_LINKS =
+            new SelfLinkFactory(BookController.class, () -> methodOn(BookController.class).findById(null));
+
     @Autowired
     private BookServices service;
 
+    @Autowired
+    private ApproximateCountServices countServices;
+
+    @Autowired
+    private ExportServices exportServices;
+
     @Operation(summary = "Find all books")
     @GetMapping(produces =  { "application/json", "application/xml", "application/x-yaml" })
-    public ResponseEntity<CollectionModel<BookVO>> findAll(
+    public ResponseEntity<?> findAll(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "limit", defaultValue = "12") int limit,
-            @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @RequestParam(value = "paging", defaultValue = "offset") String paging,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotal", defaultValue = "true") Boolean withTotal,
+            @RequestParam(value = "links", defaultValue = "all") String links) {
 
         var sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        var withoutLinks = LinkOptions.isNone(links);
+
+        if ("keyset".equalsIgnoreCase(paging) || cursor != null) {
+            return findAllByCursor(KeysetCursor.decode(cursor), limit, direction, sortDirection, withoutLinks);
+        }
 
         Pageable pageable = PageRequest.of(page, limit, Sort.by(sortDirection, "title"));
 
-        Page<BookVO> books = service.findAll(pageable);
+        Slice<BookVO> books = withTotal ? service.findAll(pageable) : service.findAllWithoutCount(pageable);
+        if (withoutLinks) {
+            // Sem HATEOAS: nem os links são montados, nem serializados
+            return withTotal
+                    ? ResponseEntity.ok(PagedListVO.of(books))
+                    : ResponseEntity.ok().headers(approximateTotalHeader(countServices.getBookCount())).body(PagedListVO.of(books));
+        }
+        SelfLinkFactory.Template selfLink = SELF_LINKS.template();
         books.stream()
-               .forEach(b -> b.add(
-                       linkTo(methodOn(BookController.class).findById(b.getKey())).withSelfRel()
-                    )
-               );
+               .forEach(b -> b.add(selfLink.expand(b.getKey())));
+
+        Link findAllLink = linkTo(methodOn(BookController.class).findAll(page, limit, direction, null, null, null, null)).withSelfRel().expand();
+        if (withTotal) {
+            return ResponseEntity.ok(CollectionModel.of(books, findAllLink));
+        }
+
+        // Sem COUNT: só informamos se existe próxima página e um total aproximado em cache
+        List<Link> pageLinks = new ArrayList<>();
+        pageLinks.add(findAllLink);
+        if (books.hasPrevious()) {
+            pageLinks.add(linkTo(methodOn(BookController.class).findAll(page - 1, limit, direction, null, null, false, null)).withRel(IanaLinkRelations.PREV).expand());
+        }
+        if (books.hasNext()) {
+            pageLinks.add(linkTo(methodOn(BookController.class).findAll(page + 1, limit, direction, null, null, false, null)).withRel(IanaLinkRelations.NEXT).expand());
+        }
+        return ResponseEntity.ok()
+                .headers(approximateTotalHeader(countServices.getBookCount()))
+                .body(CollectionModel.of(books, pageLinks));
+    }
 
-        return ResponseEntity.ok(CollectionModel.of(books));
+    // Paginação por keyset: busca a partir de (title, id) sem OFFSET e sem COUNT
+    private ResponseEntity<?> findAllByCursor(KeysetCursor cursor, int limit,
+                                              String direction, Sort.Direction sortDirection, boolean withoutLinks) {
+        KeysetSlice<BookVO> books = service.findAllByCursor(cursor, limit, sortDirection);
+        String previous = null;
+        if (books.hasPrevious()) {
+            BookVO first = books.getFirst();
+            previous = KeysetCursor.before(first.getTitle(), first.getKey()).encode();
+        }
+        String next = null;
+        if (books.hasNext()) {
+            BookVO last = books.getLast();
+            next = KeysetCursor.after(last.getTitle(), last.getKey()).encode();
+        }
+        if (withoutLinks) {
+            return ResponseEntity.ok(PagedListVO.of(books, limit, next, previous));
+        }
+
+        SelfLinkFactory.Template selfLink = SELF_LINKS.template();
+        books.getContent()
+               .forEach(b -> b.add(selfLink.expand(b.getKey())));
+
+        List<Link> links = new ArrayList<>();
+        if (previous != null) {
+            links.add(linkTo(methodOn(BookController.class).findAll(0, limit, direction, "keyset", previous, null, null)).withRel(IanaLinkRelations.PREV));
+        }
+        if (next != null) {
+            links.add(linkTo(methodOn(BookController.class).findAll(0, limit, direction, "keyset", next, null, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(CollectionModel.of(books.getContent(), links));
     }
 
     @Operation(summary = "Find book by title")
     @GetMapping(value = "/findBookByTitle/{title}", produces =  { "application/json", "application/xml", "application/x-yaml" })
-    public ResponseEntity<CollectionModel<BookVO>> findBookByTitle(
+    public ResponseEntity<?> findBookByTitle(
             @PathVariable(value = "title") String title,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "limit", defaultValue = "12") int limit,
-            @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "true") Boolean withTotal,
+            @RequestParam(value = "mode", defaultValue = "contains") String mode,
+            @RequestParam(value = "links", defaultValue = "all") String links) {
 
         var sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        var searchMode = SearchMode.from(mode);
+        var withoutLinks = LinkOptions.isNone(links);
 
         Pageable pageable = PageRequest.of(page, limit, Sort.by(sortDirection, "title"));
 
-        Page<BookVO> books = service.findBookByTitle(title, pageable);
+        Slice<BookVO> books = withTotal ? service.findBookByTitle(title, searchMode, pageable) : service.findBookByTitleWithoutCount(title, searchMode, pageable);
+        if (withoutLinks) {
+            return ResponseEntity.ok(PagedListVO.of(books));
+        }
+        SelfLinkFactory.Template selfLink = SELF_LINKS.template();
         books.stream()
-                .forEach(b -> b.add(
-                        linkTo(methodOn(BookController.class).findById(b.getKey())).withSelfRel()
-                        )
-                );
+                .forEach(b -> b.add(selfLink.expand(b.getKey())));
+
+        // Sem total (withTotal=false, ou a busca no índice parou em count-limit): links de página anterior e próxima
+        if (withTotal && books instanceof Page) {
+            return ResponseEntity.ok(CollectionModel.of(books));
+        }
+
+        List<Link> pageLinks = new ArrayList<>();
+        if (books.hasPrevious()) {
+            pageLinks.add(linkTo(methodOn(BookController.class).findBookByTitle(title, page - 1, limit, direction, false, mode, null)).withRel(IanaLinkRelations.PREV).expand());
+        }
+        if (books.hasNext()) {
+            pageLinks.add(linkTo(methodOn(BookController.class).findBookByTitle(title, page + 1, limit, direction, false, mode, null)).withRel(IanaLinkRelations.NEXT).expand());
+        }
+        return ResponseEntity.ok(CollectionModel.of(books, pageLinks));
+    }
 
-        return ResponseEntity.ok(CollectionModel.of(books));
+    @Operation(summary = "Export all books as NDJSON, CSV or YAML")
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(@RequestParam(value = "format", defaultValue = "ndjson") String format, HttpServletResponse response) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books." + exportFormat.getExtension() + "\"");
+        // O corpo é escrito fora da thread do request, direto no socket, sem montar a lista em memória;
+        // o timeout longo fica só nesta tarefa, os outros endpoints assíncronos mantêm o padrão
+        return new WebAsyncTask<>(exportServices.getTimeout(), () -> {
+            exportServices.exportBooks(exportFormat, response.getOutputStream());
+            return null;
+        });
     }
 
     @Operation(summary = "Find a book by ID")
     @GetMapping(value = "/{id}", produces =  { "application/json", "application/xml", "application/x-yaml" })
-    public BookVO findById(@PathVariable("id") Long id) {
+    public ResponseEntity<BookVO> findById(@PathVariable("id") Long id) {
         BookVO bookVO = service.findById(id);
-        bookVO.add(linkTo(methodOn(BookController.class).findById(id)).withSelfRel());
-        return bookVO;
+        bookVO.add(SELF_LINKS.expand(id));
+        // Com a ETag o Spring responde 304 sozinho quando o If-None-Match casa
+        return ResponseEntity.ok().eTag(EntityTags.of(bookVO.getVersion())).body(bookVO);
     }
 
     @Operation(summary = "Create a book")
@@ -81,17 +202,39 @@ public class BookController {
                  consumes = { "application/json", "application/xml", "application/x-yaml" })
     public BookVO create(@RequestBody BookVO book) {
         BookVO bookVO = service.create(book);
-        bookVO.add(linkTo(methodOn(BookController.class).findById(bookVO.getKey())).withSelfRel());
+        bookVO.add(SELF_LINKS.expand(bookVO.getKey()));
         return bookVO;
     }
 
     @Operation(summary = "Update a book")
     @PutMapping(produces = { "application/json", "application/xml", "application/x-yaml" },
                 consumes = { "application/json", "application/xml", "application/x-yaml" })
-    public BookVO update(@RequestBody BookVO book) {
-        BookVO bookVO = service.update(book);
-        bookVO.add(linkTo(methodOn(BookController.class).findById(bookVO.getKey())).withSelfRel());
-        return bookVO;
+    public ResponseEntity<BookVO> update(@RequestBody BookVO book,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BookVO bookVO = service.update(book, EntityTags.parseIfMatch(ifMatch));
+        bookVO.add(SELF_LINKS.expand(bookVO.getKey()));
+        return ResponseEntity.ok().eTag(EntityTags.of(bookVO.getVersion())).body(bookVO);
+    }
+
+    @Operation(summary = "Create books in batch")
+    @PostMapping(value = "/batch", produces = { "application/json", "application/xml", "application/x-yaml" },
+                 consumes = { "application/json", "application/xml", "application/x-yaml" })
+    public BatchResultVO createAll(@RequestBody List<BookVO> books) {
+        return service.createAll(books);
+    }
+
+    @Operation(summary = "Update books in batch")
+    @PutMapping(value = "/batch", produces = { "application/json", "application/xml", "application/x-yaml" },
+                consumes = { "application/json", "application/xml", "application/x-yaml" })
+    public BatchResultVO updateAll(@RequestBody List<BookVO> books) {
+        return service.updateAll(books);
+    }
+
+    @Operation(summary = "Delete books in batch by IDs")
+    @DeleteMapping(value = "/batch", produces = { "application/json", "application/xml", "application/x-yaml" },
+                   consumes = { "application/json", "application/xml", "application/x-yaml" })
+    public BatchDeleteResultVO deleteAll(@RequestBody List<Long> ids) {
+        return service.deleteAll(ids);
     }
 
     @Operation(summary = "Delete a book by ID")
@@ -100,4 +243,12 @@ public class BookController {
         service.delete(id);
         return ResponseEntity.ok().build();
     }
+
+    private HttpHeaders approximateTotalHeader(Long approximateTotal) {
+        HttpHeaders headers = new HttpHeaders();
+        if (approximateTotal != null) {
+            headers.set(ApproximateCountServices.APPROXIMATE_TOTAL_HEADER, String.valueOf(approximateTotal));
+        }
+        return headers;
+    }
 }
@@ -0,0 +1,35 @@
+package br.com.erudio.controller;
+
+import br.com.erudio.exception.PreconditionFailedException;
+
+// ETag forte com a versão da entidade: "3"
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    // null quando não há If-Match (ou é "*"): a atualização não depende da versão
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // If-Match exige comparação forte (RFC 7232): uma ETag fraca nunca casa
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            // Uma ETag que não é nossa nunca casa com a versão atual
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+}
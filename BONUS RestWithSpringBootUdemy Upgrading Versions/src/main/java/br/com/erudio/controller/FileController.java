@@ -1,7 +1,9 @@
 package br.com.erudio.controller;
 
+import br.com.erudio.data.vo.v1.ImportJobVO;
 import br.com.erudio.data.vo.v1.UploadFileResponseVO;
 import br.com.erudio.services.FileStorageServices;
+import br.com.erudio.services.ImportServices;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +17,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.servlet.http.HttpServletRequest;
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,6 +32,9 @@ public class FileController {
     @Autowired
     private FileStorageServices fileStorageServices;
 
+    @Autowired
+    private ImportServices importServices;
+
     @PostMapping("/uploadFile")
     public UploadFileResponseVO uploadFile(@RequestParam("file") MultipartFile file) {
         String fileName = fileStorageServices.storeFile(file);
@@ -48,6 +54,24 @@ public class FileController {
                 .collect(Collectors.toList());
     }
 
+    // Responde na hora com o id do job; o andamento é consultado em /import/jobs/{id}
+    @PostMapping("/import/{target}")
+    public ResponseEntity<ImportJobVO> importFile(@PathVariable("target") String target,
+                                                  @RequestParam("file") MultipartFile file,
+                                                  @RequestParam(value = "format", required = false) String format) {
+        ImportJobVO job = importServices.submit(target, file, format);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/file/v1/import/jobs/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/import/jobs/{id}")
+    public ImportJobVO findImportJob(@PathVariable("id") String id) {
+        return importServices.findJob(id);
+    }
+
     @GetMapping("/downloadFile/{fileName:.+}")
     public ResponseEntity<Resource> downloadFile(@PathVariable String fileName, HttpServletRequest request) {
 
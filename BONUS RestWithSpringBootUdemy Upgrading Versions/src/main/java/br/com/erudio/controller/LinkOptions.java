@@ -0,0 +1,20 @@
+package br.com.erudio.controller;
+
+import br.com.erudio.exception.InvalidRequestException;
+
+// Parâmetro links das listagens: all (padrão, HATEOAS) ou none (PagedListVO, sem links)
+final class LinkOptions {
+
+    private LinkOptions() {
+    }
+
+    static boolean isNone(String links) {
+        if (links == null || links.isBlank() || "all".equalsIgnoreCase(links.trim())) {
+            return false;
+        }
+        if ("none".equalsIgnoreCase(links.trim())) {
+            return true;
+        }
+        throw new InvalidRequestException("Invalid links option '" + links + "', use all or none");
+    }
+}
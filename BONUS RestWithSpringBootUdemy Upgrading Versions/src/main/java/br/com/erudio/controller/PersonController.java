@@ -1,6 +1,17 @@
 package br.com.erudio.controller;
 
+import br.com.erudio.data.vo.v1.BatchDeleteResultVO;
+import br.com.erudio.data.vo.v1.BatchResultVO;
+import br.com.erudio.data.vo.v1.PagedListVO;
+import br.com.erudio.data.vo.v1.PersonStatusUpdateResultVO;
+import br.com.erudio.data.vo.v1.PersonStatusUpdateVO;
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.export.ExportFormat;
+import br.com.erudio.pagination.KeysetCursor;
+import br.com.erudio.pagination.KeysetSlice;
+import br.com.erudio.search.SearchMode;
+import br.com.erudio.services.ApproximateCountServices;
+import br.com.erudio.services.ExportServices;
 import br.com.erudio.services.PersonServices;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,11 +19,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -24,60 +43,162 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/person/v1")
 public class PersonController {
 
+    private static final SelfLinkFactory SELF_LINKS =
+            new SelfLinkFactory(PersonController.class, () -> methodOn(PersonController.class).findById(null));
+
     @Autowired
     private PersonServices service;
 
+    @Autowired
+    private ApproximateCountServices countServices;
+
+    @Autowired
+    private ExportServices exportServices;
+
     @Operation(summary = "Find all people")
     @GetMapping(produces =  { "application/json", "application/xml", "application/x-yaml" })
-    public ResponseEntity<CollectionModel<PersonVO>> findAll(
+    public ResponseEntity<?> findAll(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "limit", defaultValue = "12") int limit,
-            @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @RequestParam(value = "paging", defaultValue = "offset") String paging,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withTotal", defaultValue = "true") Boolean withTotal,
+            @RequestParam(value = "links", defaultValue = "all") String links) {
 
         var sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        var withoutLinks = LinkOptions.isNone(links);
+
+        if ("keyset".equalsIgnoreCase(paging) || cursor != null) {
+            return findAllByCursor(KeysetCursor.decode(cursor), limit, direction, sortDirection, withoutLinks);
+        }
 
         Pageable pageable = PageRequest.of(page, limit, Sort.by(sortDirection, "firstName"));
 
-        Page<PersonVO> persons = service.findAll(pageable);
+        Slice<PersonVO> persons = withTotal ? service.findAll(pageable) : service.findAllWithoutCount(pageable);
+        if (withoutLinks) {
+            // Sem HATEOAS: nem os links são montados, nem serializados
+            return withTotal
+                    ? ResponseEntity.ok(PagedListVO.of(persons))
+                    : ResponseEntity.ok().headers(approximateTotalHeader(countServices.getPersonCount())).body(PagedListVO.of(persons));
+        }
+        SelfLinkFactory.Template selfLink = SELF_LINKS.template();
         persons.stream()
-               .forEach(p -> p.add(
-                       linkTo(methodOn(PersonController.class).findById(p.getKey())).withSelfRel()
-                    )
-               );
+               .forEach(p -> p.add(selfLink.expand(p.getKey())));
+
+        Link findAllLink = linkTo(methodOn(PersonController.class).findAll(page, limit, direction, null, null, null, null)).withSelfRel().expand();
+        if (withTotal) {
+            return ResponseEntity.ok(CollectionModel.of(persons, findAllLink));
+        }
 
-        Link findAllLink = linkTo(methodOn(PersonController.class).findAll(page, limit, direction)).withSelfRel();
-        return ResponseEntity.ok(CollectionModel.of(persons, findAllLink));
+        // Sem COUNT: só informamos se existe próxima página e um total aproximado em cache
+        List<Link> pageLinks = new ArrayList<>();
+        pageLinks.add(findAllLink);
+        if (persons.hasPrevious()) {
+            pageLinks.add(linkTo(methodOn(PersonController.class).findAll(page - 1, limit, direction, null, null, false, null)).withRel(IanaLinkRelations.PREV).expand());
+        }
+        if (persons.hasNext()) {
+            pageLinks.add(linkTo(methodOn(PersonController.class).findAll(page + 1, limit, direction, null, null, false, null)).withRel(IanaLinkRelations.NEXT).expand());
+        }
+        return ResponseEntity.ok()
+                .headers(approximateTotalHeader(countServices.getPersonCount()))
+                .body(CollectionModel.of(persons, pageLinks));
+    }
+
+    // Paginação por keyset: busca a partir de (firstName, id) sem OFFSET e sem COUNT
+    private ResponseEntity<?> findAllByCursor(KeysetCursor cursor, int limit,
+                                              String direction, Sort.Direction sortDirection, boolean withoutLinks) {
+        KeysetSlice<PersonVO> persons = service.findAllByCursor(cursor, limit, sortDirection);
+        String previous = null;
+        if (persons.hasPrevious()) {
+            PersonVO first = persons.getFirst();
+            previous = KeysetCursor.before(first.getFirstName(), first.getKey()).encode();
+        }
+        String next = null;
+        if (persons.hasNext()) {
+            PersonVO last = persons.getLast();
+            next = KeysetCursor.after(last.getFirstName(), last.getKey()).encode();
+        }
+        if (withoutLinks) {
+            return ResponseEntity.ok(PagedListVO.of(persons, limit, next, previous));
+        }
+
+        SelfLinkFactory.Template selfLink = SELF_LINKS.template();
+        persons.getContent()
+               .forEach(p -> p.add(selfLink.expand(p.getKey())));
+
+        List<Link> links = new ArrayList<>();
+        if (previous != null) {
+            links.add(linkTo(methodOn(PersonController.class).findAll(0, limit, direction, "keyset", previous, null, null)).withRel(IanaLinkRelations.PREV));
+        }
+        if (next != null) {
+            links.add(linkTo(methodOn(PersonController.class).findAll(0, limit, direction, "keyset", next, null, null)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(CollectionModel.of(persons.getContent(), links));
     }
 
     @Operation(summary = "Find person by first name")
     @GetMapping(value = "/findPersonByName/{firstName}", produces =  { "application/json", "application/xml", "application/x-yaml" })
-    public ResponseEntity<CollectionModel<PersonVO>> findPersonByName(
+    public ResponseEntity<?> findPersonByName(
             @PathVariable("firstName") String firstName,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "limit", defaultValue = "12") int limit,
-            @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @RequestParam(value = "withTotal", defaultValue = "true") Boolean withTotal,
+            @RequestParam(value = "mode", defaultValue = "contains") String mode,
+            @RequestParam(value = "links", defaultValue = "all") String links) {
 
         var sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        var searchMode = SearchMode.from(mode);
+        var withoutLinks = LinkOptions.isNone(links);
 
         Pageable pageable = PageRequest.of(page, limit, Sort.by(sortDirection, "firstName"));
 
-        Page<PersonVO> persons = service.findPersonByName(firstName, pageable);
+        Slice<PersonVO> persons = withTotal ? service.findPersonByName(firstName, searchMode, pageable) : service.findPersonByNameWithoutCount(firstName, searchMode, pageable);
+        if (withoutLinks) {
+            return ResponseEntity.ok(PagedListVO.of(persons));
+        }
+        SelfLinkFactory.Template selfLink = SELF_LINKS.template();
         persons.stream()
-                .forEach(p -> p.add(
-                        linkTo(methodOn(PersonController.class).findById(p.getKey())).withSelfRel()
-                        )
-                );
+                .forEach(p -> p.add(selfLink.expand(p.getKey())));
+
+        // Sem total (withTotal=false, ou a busca no índice parou em count-limit): links de página anterior e próxima
+        if (withTotal && persons instanceof Page) {
+            return ResponseEntity.ok(CollectionModel.of(persons));
+        }
+
+        List<Link> pageLinks = new ArrayList<>();
+        if (persons.hasPrevious()) {
+            pageLinks.add(linkTo(methodOn(PersonController.class).findPersonByName(firstName, page - 1, limit, direction, false, mode, null)).withRel(IanaLinkRelations.PREV).expand());
+        }
+        if (persons.hasNext()) {
+            pageLinks.add(linkTo(methodOn(PersonController.class).findPersonByName(firstName, page + 1, limit, direction, false, mode, null)).withRel(IanaLinkRelations.NEXT).expand());
+        }
+        return ResponseEntity.ok(CollectionModel.of(persons, pageLinks));
+    }
 
-        return ResponseEntity.ok(CollectionModel.of(persons));
+    @Operation(summary = "Export all people as NDJSON, CSV or YAML")
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(@RequestParam(value = "format", defaultValue = "ndjson") String format, HttpServletResponse response) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"people." + exportFormat.getExtension() + "\"");
+        // O corpo é escrito fora da thread do request, direto no socket, sem montar a lista em memória;
+        // o timeout longo fica só nesta tarefa, os outros endpoints assíncronos mantêm o padrão
+        return new WebAsyncTask<>(exportServices.getTimeout(), () -> {
+            exportServices.exportPersons(exportFormat, response.getOutputStream());
+            return null;
+        });
     }
 
 //    @CrossOrigin(origins = "http://localhost:8080")
     @Operation(summary = "Find a person by ID")
     @GetMapping(value = "/{id}", produces =  { "application/json", "application/xml", "application/x-yaml" })
-    public PersonVO findById(@PathVariable("id") Long id) {
+    public ResponseEntity<PersonVO> findById(@PathVariable("id") Long id) {
         PersonVO personVO = service.findById(id);
-        personVO.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
-        return personVO;
+        personVO.add(SELF_LINKS.expand(id));
+        // Com a ETag o Spring responde 304 sozinho quando o If-None-Match casa
+        return ResponseEntity.ok().eTag(EntityTags.of(personVO.getVersion())).body(personVO);
     }
 
 //    @CrossOrigin(origins = {"http://localhost:8080", "http://www.erudio.com.br"})
@@ -86,31 +207,76 @@ public class PersonController {
                  consumes = { "application/json", "application/xml", "application/x-yaml" })
     public PersonVO create(@RequestBody PersonVO person) {
         PersonVO personVO = service.create(person);
-        personVO.add(linkTo(methodOn(PersonController.class).findById(personVO.getKey())).withSelfRel());
+        personVO.add(SELF_LINKS.expand(personVO.getKey()));
         return personVO;
     }
 
     @Operation(summary = "Update a person")
     @PutMapping(produces = { "application/json", "application/xml", "application/x-yaml" },
                 consumes = { "application/json", "application/xml", "application/x-yaml" })
-    public PersonVO update(@RequestBody PersonVO person) {
-        PersonVO personVO = service.update(person);
-        personVO.add(linkTo(methodOn(PersonController.class).findById(personVO.getKey())).withSelfRel());
-        return personVO;
+    public ResponseEntity<PersonVO> update(@RequestBody PersonVO person,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PersonVO personVO = service.update(person, EntityTags.parseIfMatch(ifMatch));
+        personVO.add(SELF_LINKS.expand(personVO.getKey()));
+        return ResponseEntity.ok().eTag(EntityTags.of(personVO.getVersion())).body(personVO);
+    }
+
+    @Operation(summary = "Create people in batch")
+    @PostMapping(value = "/batch", produces = { "application/json", "application/xml", "application/x-yaml" },
+                 consumes = { "application/json", "application/xml", "application/x-yaml" })
+    public BatchResultVO createAll(@RequestBody List<PersonVO> persons) {
+        return service.createAll(persons);
+    }
+
+    @Operation(summary = "Update people in batch")
+    @PutMapping(value = "/batch", produces = { "application/json", "application/xml", "application/x-yaml" },
+                consumes = { "application/json", "application/xml", "application/x-yaml" })
+    public BatchResultVO updateAll(@RequestBody List<PersonVO> persons) {
+        return service.updateAll(persons);
     }
 
     @Operation(summary = "Disable a person by ID")
     @PatchMapping(value = "/{id}", produces =  { "application/json", "application/xml", "application/x-yaml" })
     public PersonVO disablePerson(@PathVariable("id") Long id) {
         PersonVO personVO = service.disablePerson(id);
-        personVO.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+        personVO.add(SELF_LINKS.expand(id));
         return personVO;
     }
 
+    @Operation(summary = "Enable or disable people in bulk, by IDs or by first name")
+    @PatchMapping(produces = { "application/json", "application/xml", "application/x-yaml" },
+                  consumes = { "application/json", "application/xml", "application/x-yaml" })
+    public PersonStatusUpdateResultVO updateEnabled(
+            @RequestBody PersonStatusUpdateVO request,
+            @RequestParam(value = "returnUpdated", defaultValue = "false") Boolean returnUpdated) {
+        PersonStatusUpdateResultVO result = service.updateEnabled(request, returnUpdated);
+        if (result.getItems() != null) {
+            SelfLinkFactory.Template selfLink = SELF_LINKS.template();
+            result.getItems()
+                  .forEach(p -> p.add(selfLink.expand(p.getKey())));
+        }
+        return result;
+    }
+
+    @Operation(summary = "Delete people in batch by IDs")
+    @DeleteMapping(value = "/batch", produces = { "application/json", "application/xml", "application/x-yaml" },
+                   consumes = { "application/json", "application/xml", "application/x-yaml" })
+    public BatchDeleteResultVO deleteAll(@RequestBody List<Long> ids) {
+        return service.deleteAll(ids);
+    }
+
     @Operation(summary = "Delete a person by ID")
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<?> delete(@PathVariable("id") Long id) {
         service.delete(id);
         return ResponseEntity.ok().build();
     }
+
+    private HttpHeaders approximateTotalHeader(Long approximateTotal) {
+        HttpHeaders headers = new HttpHeaders();
+        if (approximateTotal != null) {
+            headers.set(ApproximateCountServices.APPROXIMATE_TOTAL_HEADER, String.valueOf(approximateTotal));
+        }
+        return headers;
+    }
 }
@@ -0,0 +1,67 @@
+package br.com.erudio.controller;
+
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+// Self link por id sem um linkTo(methodOn(...)) por item (proxy CGLIB e UriComponents completos a cada VO):
+// o href do método é montado uma vez por requisição, com a variável do path em aberto, e cada item só
+// concatena o id. O href sai igual ao do WebMvcLinkBuilder (host, context path, X-Forwarded-*).
+public final class SelfLinkFactory {
+
+    private final String attribute;
+    private final Supplier<Object> invocation;
+
+    // invocation: methodOn(Controller.class).findById(null), o null vira o {id} do template
+    public SelfLinkFactory(Class<?> controller, Supplier<Object> invocation) {
+        this.attribute = SelfLinkFactory.class.getName() + "." + controller.getName();
+        this.invocation = invocation;
+    }
+
+    public Template template() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return compile();
+        }
+        Template template = (Template) attributes.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (template == null) {
+            template = compile();
+            attributes.setAttribute(attribute, template, RequestAttributes.SCOPE_REQUEST);
+        }
+        return template;
+    }
+
+    // Para um item só; em listas pegue o template() uma vez e expanda por item
+    public Link expand(Object id) {
+        return template().expand(id);
+    }
+
+    private Template compile() {
+        String href = linkTo(invocation.get()).withSelfRel().getHref();
+        int start = href.indexOf('{');
+        int end = href.indexOf('}', start + 1);
+        if (start < 0 || end < 0) {
+            throw new IllegalStateException("Self link template without a path variable: " + href);
+        }
+        return new Template(href.substring(0, start), href.substring(end + 1));
+    }
+
+    public static final class Template {
+
+        private final String prefix;
+        private final String suffix;
+
+        private Template(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        public Link expand(Object id) {
+            return Link.of(prefix + id + suffix);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.erudio.converter;
+
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.vo.v1.BookVO;
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface BookMapper {
+
+    BookMapper INSTANCE = Mappers.getMapper(BookMapper.class);
+
+    @Mapping(source = "id", target = "key")
+    BookVO toVO(Book entity);
+
+    @InheritInverseConfiguration
+    @Mapping(target = "titleSearch", ignore = true)
+    Book toEntity(BookVO vo);
+}
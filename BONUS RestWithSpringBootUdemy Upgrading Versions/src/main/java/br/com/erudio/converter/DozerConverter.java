@@ -1,24 +1,64 @@
 package br.com.erudio.converter;
 
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.model.Person;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
 import com.github.dozermapper.core.DozerBeanMapperBuilder;
 import com.github.dozermapper.core.Mapper;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 public class DozerConverter {
 
     private static Mapper mapper = DozerBeanMapperBuilder.buildDefault();
 
+    // Mappers gerados em tempo de compilação (MapStruct); Dozer fica só como fallback
+    private static final Map<Class<?>, Map<Class<?>, Function<Object, Object>>> generatedMappers = new HashMap<>();
+
+    static {
+        register(Person.class, PersonVO.class, PersonMapper.INSTANCE::toVO);
+        register(PersonVO.class, Person.class, PersonMapper.INSTANCE::toEntity);
+        register(Book.class, BookVO.class, BookMapper.INSTANCE::toVO);
+        register(BookVO.class, Book.class, BookMapper.INSTANCE::toEntity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <O, D> void register(Class<O> origin, Class<D> destination, Function<O, D> function) {
+        generatedMappers.computeIfAbsent(origin, key -> new HashMap<>())
+                .put(destination, (Function<Object, Object>) function);
+    }
+
+    @SuppressWarnings("unchecked")
     public static <O, D> D parseObject(O origin, Class<D> destination) {
+        Function<Object, Object> generated = findGeneratedMapper(origin.getClass(), destination);
+        if (generated != null) {
+            return (D) generated.apply(origin);
+        }
         return mapper.map(origin, destination);
     }
 
+    @SuppressWarnings("unchecked")
     public static <O, D> List<D> parseListObjects(List<O> origin, Class<D> destination) {
-        List<D> destinationObjects = new ArrayList<>();
+        List<D> destinationObjects = new ArrayList<>(origin.size());
+        Class<?> lastOriginClass = null;
+        Function<Object, Object> generated = null;
         for (Object o : origin) {
-            destinationObjects.add(mapper.map(o, destination));
+            if (o.getClass() != lastOriginClass) {
+                lastOriginClass = o.getClass();
+                generated = findGeneratedMapper(lastOriginClass, destination);
+            }
+            destinationObjects.add(generated != null ? (D) generated.apply(o) : mapper.map(o, destination));
         }
         return destinationObjects;
     }
+
+    private static Function<Object, Object> findGeneratedMapper(Class<?> origin, Class<?> destination) {
+        Map<Class<?>, Function<Object, Object>> byDestination = generatedMappers.get(origin);
+        return byDestination != null ? byDestination.get(destination) : null;
+    }
 }
@@ -0,0 +1,22 @@
+package br.com.erudio.converter;
+
+import br.com.erudio.data.model.Person;
+import br.com.erudio.data.vo.v1.PersonVO;
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface PersonMapper {
+
+    PersonMapper INSTANCE = Mappers.getMapper(PersonMapper.class);
+
+    @Mapping(source = "id", target = "key")
+    PersonVO toVO(Person entity);
+
+    @InheritInverseConfiguration
+    @Mapping(target = "firstNameSearch", ignore = true)
+    Person toEntity(PersonVO vo);
+}
@@ -1,5 +1,8 @@
 package br.com.erudio.data.model;
 
+import br.com.erudio.search.SearchIndexEntityListener;
+import br.com.erudio.search.SearchText;
+
 import javax.persistence.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -7,12 +10,16 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(SearchIndexEntityListener.class)
 @Table(name = "books")
 public class Book implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids reservados em blocos (pooled-lo) para permitir INSERT em lote, o que IDENTITY impede
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "books_id")
+    @TableGenerator(name = "books_id", table = "hibernate_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "books", allocationSize = 50)
     private long id;
 
     @Column(length = 200)
@@ -24,9 +31,18 @@ public class Book implements Serializable {
     @Column(nullable = false)
     private BigDecimal price;
 
-    @Column(length = 100)
+    @Column(length = 255)
     private String title;
 
+    // title normalizado (minúsculas, sem acentos) e indexado para buscas por prefixo
+    @Column(name = "title_search", length = 255)
+    private String titleSearch;
+
+    // Controle de concorrência otimista; exposto ao cliente como ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Book() {
     }
 
@@ -66,6 +82,28 @@ public class Book implements Serializable {
         this.title = title;
     }
 
+    public String getTitleSearch() {
+        return titleSearch;
+    }
+
+    public void setTitleSearch(String titleSearch) {
+        this.titleSearch = titleSearch;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeSearchColumns() {
+        titleSearch = SearchText.normalize(title);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
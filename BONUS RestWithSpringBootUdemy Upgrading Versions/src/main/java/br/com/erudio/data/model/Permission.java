@@ -1,5 +1,6 @@
 package br.com.erudio.data.model;
 
+import br.com.erudio.secutiry.UserCacheEntityListener;
 import org.springframework.security.core.GrantedAuthority;
 
 import javax.persistence.*;
@@ -7,6 +8,7 @@ import java.io.Serializable;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(UserCacheEntityListener.class)
 @Table(name = "permission")
 public class Permission implements GrantedAuthority, Serializable {
 
@@ -1,21 +1,32 @@
 package br.com.erudio.data.model;
 
+import br.com.erudio.search.SearchIndexEntityListener;
+import br.com.erudio.search.SearchText;
+
 import javax.persistence.*;
 import java.io.Serializable;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(SearchIndexEntityListener.class)
 @Table(name = "person")
 public class Person implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids reservados em blocos (pooled-lo) para permitir INSERT em lote, o que IDENTITY impede
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_id")
+    @TableGenerator(name = "person_id", table = "hibernate_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "person", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false, length = 80)
     private String firstName;
 
+    // first_name normalizado (minúsculas, sem acentos) e indexado para buscas por prefixo
+    @Column(name = "first_name_search", length = 80)
+    private String firstNameSearch;
+
     @Column(name = "last_name", nullable = false, length = 80)
     private String lastName;
 
@@ -28,6 +39,11 @@ public class Person implements Serializable {
     @Column(nullable = false)
     private Boolean enabled;
 
+    // Controle de concorrência otimista; exposto ao cliente como ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Person() {
     }
 
@@ -47,6 +63,14 @@ public class Person implements Serializable {
         this.firstName = firstName;
     }
 
+    public String getFirstNameSearch() {
+        return firstNameSearch;
+    }
+
+    public void setFirstNameSearch(String firstNameSearch) {
+        this.firstNameSearch = firstNameSearch;
+    }
+
     public String getLastName() {
         return lastName;
     }
@@ -79,6 +103,20 @@ public class Person implements Serializable {
         this.enabled = enabled;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeSearchColumns() {
+        firstNameSearch = SearchText.normalize(firstName);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
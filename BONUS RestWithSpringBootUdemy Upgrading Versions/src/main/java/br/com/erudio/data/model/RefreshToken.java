@@ -0,0 +1,93 @@
+package br.com.erudio.data.model;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+// Só o hash SHA-256 do refresh token é gravado: um dump da tabela não permite emitir tokens.
+// O id vem preenchido, então Persistable diz ao Spring Data que é um INSERT (persist) e não um merge com SELECT
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_user_name", columnList = "user_name"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")})
+public class RefreshToken implements Persistable<String>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "token_hash", length = 44)
+    private String tokenHash;
+
+    @Column(name = "user_name", nullable = false)
+    private String userName;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Transient
+    private boolean persisted;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String tokenHash, String userName, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userName = userName;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RefreshToken that = (RefreshToken) o;
+        return Objects.equals(tokenHash, that.tokenHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tokenHash);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.erudio.data.model;
 
+import br.com.erudio.secutiry.UserCacheEntityListener;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -11,6 +12,7 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(UserCacheEntityListener.class)
 @Table(name = "users")
 public class User implements UserDetails, Serializable {
 
@@ -0,0 +1,51 @@
+package br.com.erudio.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@JsonPropertyOrder({ "requested", "deleted" })
+public class BatchDeleteResultVO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int requested;
+    private int deleted;
+
+    public BatchDeleteResultVO() {
+    }
+
+    public BatchDeleteResultVO(int requested, int deleted) {
+        this.requested = requested;
+        this.deleted = deleted;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(int deleted) {
+        this.deleted = deleted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchDeleteResultVO that = (BatchDeleteResultVO) o;
+        return requested == that.requested && deleted == that.deleted;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(requested, deleted);
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.erudio.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@JsonPropertyOrder({ "index", "id", "status", "message" })
+public class BatchItemResultVO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum Status { CREATED, UPDATED, NOT_FOUND, FAILED }
+
+    private int index;
+    @JsonProperty("id")
+    private Long key;
+    private Status status;
+    private String message;
+
+    public BatchItemResultVO() {
+    }
+
+    public BatchItemResultVO(Long key, Status status, String message) {
+        this.key = key;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BatchItemResultVO created(Long key) {
+        return new BatchItemResultVO(key, Status.CREATED, null);
+    }
+
+    public static BatchItemResultVO updated(Long key) {
+        return new BatchItemResultVO(key, Status.UPDATED, null);
+    }
+
+    public static BatchItemResultVO notFound(Long key) {
+        return new BatchItemResultVO(key, Status.NOT_FOUND, "No records found for this ID");
+    }
+
+    public static BatchItemResultVO failed(String message) {
+        return new BatchItemResultVO(null, Status.FAILED, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getKey() {
+        return key;
+    }
+
+    public void setKey(Long key) {
+        this.key = key;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchItemResultVO that = (BatchItemResultVO) o;
+        return index == that.index && Objects.equals(key, that.key) && status == that.status && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, key, status, message);
+    }
+}
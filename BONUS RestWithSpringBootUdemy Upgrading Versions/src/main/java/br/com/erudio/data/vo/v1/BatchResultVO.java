@@ -0,0 +1,67 @@
+package br.com.erudio.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+@JsonPropertyOrder({ "succeeded", "failed", "items" })
+public class BatchResultVO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultVO> items;
+
+    public BatchResultVO() {
+    }
+
+    public BatchResultVO(List<BatchItemResultVO> items) {
+        this.items = items;
+        for (BatchItemResultVO item : items) {
+            if (item.getStatus() == BatchItemResultVO.Status.CREATED || item.getStatus() == BatchItemResultVO.Status.UPDATED) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResultVO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchItemResultVO> items) {
+        this.items = items;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchResultVO that = (BatchResultVO) o;
+        return succeeded == that.succeeded && failed == that.failed && Objects.equals(items, that.items);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(succeeded, failed, items);
+    }
+}
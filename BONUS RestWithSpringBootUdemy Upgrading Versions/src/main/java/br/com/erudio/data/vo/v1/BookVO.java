@@ -1,5 +1,6 @@
 package br.com.erudio.data.vo.v1;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.github.dozermapper.core.Mapping;
@@ -21,10 +22,28 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
     private LocalDate launchDate;
     private BigDecimal price;
     private String title;
+    // Vai no cabeçalho ETag, não no corpo
+    @JsonIgnore
+    private Long version;
 
     public BookVO() {
     }
 
+    // Cópia sem os links, para quem recebe do cache não alterar a instância compartilhada
+    public BookVO(BookVO other) {
+        this(other.key, other.author, other.launchDate, other.price, other.title);
+        this.version = other.version;
+    }
+
+    // Usado nas consultas "SELECT new" dos repositórios
+    public BookVO(Long key, String author, LocalDate launchDate, BigDecimal price, String title) {
+        this.key = key;
+        this.author = author;
+        this.launchDate = launchDate;
+        this.price = price;
+        this.title = title;
+    }
+
     public Long getKey() {
         return key;
     }
@@ -65,6 +84,14 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
         this.title = title;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
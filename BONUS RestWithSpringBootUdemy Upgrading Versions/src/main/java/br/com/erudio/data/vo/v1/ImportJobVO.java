@@ -0,0 +1,159 @@
+package br.com.erudio.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+@JsonPropertyOrder({ "id", "target", "format", "fileName", "status", "totalBytes", "bytesRead", "rowsRead", "rowsImported", "rowsRejected", "errors", "createdAt", "finishedAt" })
+public class ImportJobVO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+    private String target;
+    private String format;
+    private String fileName;
+    private String status;
+    private long totalBytes;
+    private long bytesRead;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private List<String> errors;
+    private Date createdAt;
+    private Date finishedAt;
+
+    public ImportJobVO() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportJobVO that = (ImportJobVO) o;
+        return totalBytes == that.totalBytes &&
+                bytesRead == that.bytesRead &&
+                rowsRead == that.rowsRead &&
+                rowsImported == that.rowsImported &&
+                rowsRejected == that.rowsRejected &&
+                Objects.equals(id, that.id) &&
+                Objects.equals(target, that.target) &&
+                Objects.equals(format, that.format) &&
+                Objects.equals(fileName, that.fileName) &&
+                Objects.equals(status, that.status) &&
+                Objects.equals(errors, that.errors) &&
+                Objects.equals(createdAt, that.createdAt) &&
+                Objects.equals(finishedAt, that.finishedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, target, format, fileName, status, totalBytes, bytesRead, rowsRead, rowsImported, rowsRejected, errors, createdAt, finishedAt);
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.erudio.data.vo.v1;
+
+import br.com.erudio.pagination.KeysetSlice;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+// Listagem sem HATEOAS (links=none): array de VOs e metadados de paginação, para clientes em lote
+@JsonPropertyOrder({ "content", "page", "size", "totalElements", "totalPages", "hasNext", "hasPrevious",
+        "nextCursor", "previousCursor" })
+public class PagedListVO<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Os VOs são RepresentationModel: fora do HAL o Jackson escreveria "links": [] em cada item
+    @JsonIgnoreProperties({ "links" })
+    private List<T> content;
+    private Integer page;
+    private Integer size;
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean hasNext;
+    private Boolean hasPrevious;
+    private String nextCursor;
+    private String previousCursor;
+
+    public PagedListVO() {
+    }
+
+    // Page traz o total; Slice (withTotal=false) só sabe se há página anterior e próxima
+    public static <T> PagedListVO<T> of(Slice<T> slice) {
+        PagedListVO<T> list = new PagedListVO<>();
+        list.content = slice.getContent();
+        list.page = slice.getNumber();
+        list.size = slice.getSize();
+        list.hasNext = slice.hasNext();
+        list.hasPrevious = slice.hasPrevious();
+        if (slice instanceof Page) {
+            list.totalElements = ((Page<T>) slice).getTotalElements();
+            list.totalPages = ((Page<T>) slice).getTotalPages();
+        }
+        return list;
+    }
+
+    public static <T> PagedListVO<T> of(KeysetSlice<T> slice, int size, String nextCursor, String previousCursor) {
+        PagedListVO<T> list = new PagedListVO<>();
+        list.content = slice.getContent();
+        list.size = size;
+        list.hasNext = slice.hasNext();
+        list.hasPrevious = slice.hasPrevious();
+        list.nextCursor = nextCursor;
+        list.previousCursor = previousCursor;
+        return list;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(Integer totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(Boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Boolean getHasPrevious() {
+        return hasPrevious;
+    }
+
+    public void setHasPrevious(Boolean hasPrevious) {
+        this.hasPrevious = hasPrevious;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public void setPreviousCursor(String previousCursor) {
+        this.previousCursor = previousCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PagedListVO<?> that = (PagedListVO<?>) o;
+        return Objects.equals(content, that.content) &&
+                Objects.equals(page, that.page) &&
+                Objects.equals(size, that.size) &&
+                Objects.equals(totalElements, that.totalElements) &&
+                Objects.equals(totalPages, that.totalPages) &&
+                Objects.equals(hasNext, that.hasNext) &&
+                Objects.equals(hasPrevious, that.hasPrevious) &&
+                Objects.equals(nextCursor, that.nextCursor) &&
+                Objects.equals(previousCursor, that.previousCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, page, size, totalElements, totalPages, hasNext, hasPrevious, nextCursor, previousCursor);
+    }
+}
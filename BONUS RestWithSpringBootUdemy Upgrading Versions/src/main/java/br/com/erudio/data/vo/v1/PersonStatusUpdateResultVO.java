@@ -0,0 +1,52 @@
+package br.com.erudio.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+@JsonPropertyOrder({ "affected", "items" })
+public class PersonStatusUpdateResultVO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int affected;
+    private List<PersonVO> items;
+
+    public PersonStatusUpdateResultVO() {
+    }
+
+    public PersonStatusUpdateResultVO(int affected, List<PersonVO> items) {
+        this.affected = affected;
+        this.items = items;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+
+    public List<PersonVO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<PersonVO> items) {
+        this.items = items;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PersonStatusUpdateResultVO that = (PersonStatusUpdateResultVO) o;
+        return affected == that.affected && Objects.equals(items, that.items);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(affected, items);
+    }
+}
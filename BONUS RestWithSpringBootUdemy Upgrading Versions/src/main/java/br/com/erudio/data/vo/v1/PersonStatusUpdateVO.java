@@ -0,0 +1,57 @@
+package br.com.erudio.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+// Alteração em massa do campo enabled: por lista de ids ou pelo mesmo filtro de nome da busca
+@JsonPropertyOrder({ "ids", "firstName", "enabled" })
+public class PersonStatusUpdateVO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<Long> ids;
+    private String firstName;
+    private Boolean enabled;
+
+    public PersonStatusUpdateVO() {
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PersonStatusUpdateVO that = (PersonStatusUpdateVO) o;
+        return Objects.equals(ids, that.ids) && Objects.equals(firstName, that.firstName) && Objects.equals(enabled, that.enabled);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ids, firstName, enabled);
+    }
+}
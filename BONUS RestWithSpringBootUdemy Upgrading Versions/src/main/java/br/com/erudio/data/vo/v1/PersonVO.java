@@ -1,5 +1,6 @@
 package br.com.erudio.data.vo.v1;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.github.dozermapper.core.Mapping;
@@ -20,10 +21,29 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
     private String address;
     private String gender;
     private Boolean enabled;
+    // Vai no cabeçalho ETag, não no corpo
+    @JsonIgnore
+    private Long version;
 
     public PersonVO() {
     }
 
+    // Cópia sem os links, para quem recebe do cache não alterar a instância compartilhada
+    public PersonVO(PersonVO other) {
+        this(other.key, other.firstName, other.lastName, other.address, other.gender, other.enabled);
+        this.version = other.version;
+    }
+
+    // Usado nas consultas "SELECT new" dos repositórios
+    public PersonVO(Long key, String firstName, String lastName, String address, String gender, Boolean enabled) {
+        this.key = key;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.address = address;
+        this.gender = gender;
+        this.enabled = enabled;
+    }
+
     public Long getKey() { return key; }
 
     public void setKey(Long key) { this.key = key; }
@@ -68,6 +88,14 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
         this.enabled = enabled;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
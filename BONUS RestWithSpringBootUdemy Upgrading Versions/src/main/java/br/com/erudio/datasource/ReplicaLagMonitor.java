@@ -0,0 +1,63 @@
+package br.com.erudio.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Mede o atraso da réplica periodicamente; acima do limite (ou sem resposta) as leituras voltam para o primário
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaAvailable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, String lagColumn, long maxLagSeconds) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:5000}")
+    public void refresh() {
+        boolean available;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            // Sem linha ou lag nulo: a replicação não está rodando
+            Object lag = resultSet.next() ? resultSet.getObject(lagColumn) : null;
+            available = lag != null && Long.parseLong(lag.toString()) <= maxLagSeconds;
+            if (!available && replicaAvailable) {
+                logger.warn("Replica lag is {} seconds (limit {}), routing reads to the primary", lag, maxLagSeconds);
+            }
+        } catch (SQLException | NumberFormatException e) {
+            available = false;
+            if (replicaAvailable) {
+                logger.warn("Could not check the replica lag, routing reads to the primary", e);
+            }
+        }
+        if (available && !replicaAvailable) {
+            logger.info("Replica is in sync, routing read-only transactions to it");
+        }
+        replicaAvailable = available;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.erudio.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marca uma leitura que tolera o atraso da réplica. Só métodos com esta anotação e @Transactional(readOnly = true)
+// vão para a réplica; as transações readOnly do Spring Data (findById, finders dos caches etc.) ficam no primário
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
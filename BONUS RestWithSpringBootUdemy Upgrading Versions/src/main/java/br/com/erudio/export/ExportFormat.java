@@ -0,0 +1,49 @@
+package br.com.erudio.export;
+
+import br.com.erudio.exception.InvalidRequestException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv"),
+    YAML("application/x-yaml", "yaml");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value) || format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new InvalidRequestException("Invalid file format '" + value + "', use ndjson, csv or yaml");
+    }
+
+    // Na importação o formato pode vir só pela extensão do arquivo enviado
+    public static ExportFormat fromFileName(String fileName) {
+        String extension = StringUtils.getFilenameExtension(fileName);
+        if ("jsonl".equalsIgnoreCase(extension) || "json".equalsIgnoreCase(extension)) {
+            return NDJSON;
+        }
+        if ("yml".equalsIgnoreCase(extension)) {
+            return YAML;
+        }
+        return from(extension);
+    }
+}
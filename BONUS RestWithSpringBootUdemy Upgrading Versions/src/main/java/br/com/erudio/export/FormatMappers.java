@@ -0,0 +1,55 @@
+package br.com.erudio.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import org.springframework.hateoas.RepresentationModel;
+
+// Mappers usados tanto na exportação quanto na importação, para que um arquivo exportado possa ser importado de volta
+public final class FormatMappers {
+
+    private FormatMappers() {
+    }
+
+    public static ObjectMapper create(ExportFormat format, ObjectMapper jsonMapper) {
+        switch (format) {
+            case CSV:
+                return configure(new CsvMapper());
+            case YAML:
+                return configure(new YAMLMapper());
+            default:
+                return configure(jsonMapper.copy());
+        }
+    }
+
+    // O schema é montado a partir das propriedades do bean e não respeita o mixin, daí o filtro
+    public static CsvSchema csvSchema(CsvMapper csvMapper, Class<?> type) {
+        CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        for (CsvSchema.Column column : csvMapper.schemaFor(type)) {
+            if (!"links".equals(column.getName())) {
+                schema.addColumn(column.getName(), column.getType());
+            }
+        }
+        return schema.build();
+    }
+
+    private static <M extends ObjectMapper> M configure(M mapper) {
+        mapper.findAndRegisterModules();
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        // Quem fecha a resposta é o container, não o Jackson
+        mapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        mapper.addMixIn(RepresentationModel.class, WithoutLinks.class);
+        return mapper;
+    }
+
+    // Arquivos de exportação e importação são dado bruto: sem os links HATEOAS de cada item
+    @JsonIgnoreProperties({ "links" })
+    private abstract static class WithoutLinks {
+    }
+}
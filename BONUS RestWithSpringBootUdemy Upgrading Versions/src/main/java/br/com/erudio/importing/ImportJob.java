@@ -0,0 +1,137 @@
+package br.com.erudio.importing;
+
+import br.com.erudio.data.vo.v1.ImportJobVO;
+import br.com.erudio.export.ExportFormat;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Estado de uma importação em andamento: escrito pela thread do job, lido pelas requisições de acompanhamento
+public class ImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String target;
+    private final ExportFormat format;
+    private final String fileName;
+    private final Path file;
+    private final long totalBytes;
+    private final int maxErrors;
+    private final Date createdAt = new Date();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Date finishedAt;
+
+    public ImportJob(String id, String target, ExportFormat format, String fileName, Path file, long totalBytes, int maxErrors) {
+        this.id = id;
+        this.target = target;
+        this.format = format;
+        this.fileName = fileName;
+        this.file = file;
+        this.totalBytes = totalBytes;
+        this.maxErrors = maxErrors;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void start() {
+        status = Status.RUNNING;
+    }
+
+    public void finish(Status status) {
+        this.finishedAt = new Date();
+        this.status = status;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void imported(long rows) {
+        rowsImported.addAndGet(rows);
+    }
+
+    // Só as primeiras mensagens são guardadas: um arquivo todo inválido não pode encher a memória
+    public void rejected(long row, String message) {
+        rowsRejected.incrementAndGet();
+        error("row " + row + ": " + message);
+    }
+
+    public void error(String message) {
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(message);
+            }
+        }
+    }
+
+    // Conta os bytes consumidos pelo parser para estimar o progresso sem saber o total de linhas
+    public InputStream track(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) bytesRead.incrementAndGet();
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) bytesRead.addAndGet(n);
+                return n;
+            }
+        };
+    }
+
+    public ImportJobVO toVO() {
+        ImportJobVO vo = new ImportJobVO();
+        vo.setId(id);
+        vo.setTarget(target);
+        vo.setFormat(format.getExtension());
+        vo.setFileName(fileName);
+        vo.setStatus(status.name());
+        vo.setTotalBytes(totalBytes);
+        vo.setBytesRead(bytesRead.get());
+        vo.setRowsRead(rowsRead.get());
+        vo.setRowsImported(rowsImported.get());
+        vo.setRowsRejected(rowsRejected.get());
+        synchronized (errors) {
+            vo.setErrors(new ArrayList<>(errors));
+        }
+        vo.setCreatedAt(createdAt);
+        vo.setFinishedAt(finishedAt);
+        return vo;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.erudio.importing;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.search.SearchText;
+
+import java.math.BigDecimal;
+
+// Validação e conversão das linhas importadas para as colunas das tabelas; o id do arquivo é ignorado,
+// cada linha recebe um id novo reservado na sequência
+public final class ImportRows {
+
+    public static final String[] PERSON_COLUMNS = {
+            "id", "address", "first_name", "first_name_search", "gender", "last_name", "enabled", "version" };
+
+    public static final String[] BOOK_COLUMNS = {
+            "id", "author", "launch_date", "price", "title", "title_search", "version" };
+
+    private ImportRows() {
+    }
+
+    // Devolve a mensagem de erro ou null quando a linha é válida
+    public static String validatePerson(PersonVO person) {
+        String error = required("firstName", person.getFirstName(), 80);
+        if (error == null) error = required("lastName", person.getLastName(), 80);
+        if (error == null) error = required("address", person.getAddress(), 100);
+        if (error == null) error = required("gender", person.getGender(), 6);
+        return error;
+    }
+
+    public static Object[] person(long id, PersonVO person) {
+        String firstName = person.getFirstName().trim();
+        return new Object[] { id, person.getAddress().trim(), firstName, SearchText.normalize(firstName),
+                person.getGender().trim(), person.getLastName().trim(),
+                person.getEnabled() == null || person.getEnabled(), 0L };
+    }
+
+    public static String validateBook(BookVO book) {
+        String error = required("title", book.getTitle(), 255);
+        if (error == null) error = optional("author", book.getAuthor(), 200);
+        if (error == null && book.getLaunchDate() == null) error = "launchDate is required";
+        if (error == null && book.getPrice() == null) error = "price is required";
+        if (error == null && book.getPrice().compareTo(BigDecimal.ZERO) < 0) error = "price must not be negative";
+        return error;
+    }
+
+    public static Object[] book(long id, BookVO book) {
+        String title = book.getTitle().trim();
+        String author = book.getAuthor() == null ? null : book.getAuthor().trim();
+        return new Object[] { id, author, book.getLaunchDate(), book.getPrice(), title, SearchText.normalize(title), 0L };
+    }
+
+    private static String required(String field, String value, int maxLength) {
+        if (value == null || value.trim().isEmpty()) {
+            return field + " is required";
+        }
+        return optional(field, value, maxLength);
+    }
+
+    private static String optional(String field, String value, int maxLength) {
+        if (value != null && value.trim().length() > maxLength) {
+            return field + " must have at most " + maxLength + " characters";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.erudio.pagination;
+
+import br.com.erudio.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+// Posição opaca na ordenação (valor ordenado, id) usada pela paginação por keyset.
+// Valor null é gravado sem o segundo ':' ("n:42"), diferente do texto vazio ("n:42:")
+public class KeysetCursor {
+
+    private static final char NEXT = 'n';
+    private static final char PREVIOUS = 'p';
+
+    private final String value;
+    private final Long id;
+    private final boolean backward;
+
+    private KeysetCursor(String value, Long id, boolean backward) {
+        this.value = value;
+        this.id = id;
+        this.backward = backward;
+    }
+
+    public static KeysetCursor after(String value, Long id) {
+        return new KeysetCursor(value, id, false);
+    }
+
+    public static KeysetCursor before(String value, Long id) {
+        return new KeysetCursor(value, id, true);
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':', 2);
+            char direction = raw.charAt(0);
+            if (raw.charAt(1) != ':' || (direction != NEXT && direction != PREVIOUS)) {
+                throw new InvalidCursorException("Invalid cursor " + cursor);
+            }
+            if (separator < 0) {
+                return new KeysetCursor(null, Long.valueOf(raw.substring(2)), direction == PREVIOUS);
+            }
+            Long id = Long.valueOf(raw.substring(2, separator));
+            return new KeysetCursor(raw.substring(separator + 1), id, direction == PREVIOUS);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = (backward ? PREVIOUS : NEXT) + ":" + id + (value == null ? "" : ":" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        KeysetCursor that = (KeysetCursor) o;
+        return backward == that.backward &&
+                Objects.equals(value, that.value) &&
+                Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, id, backward);
+    }
+}
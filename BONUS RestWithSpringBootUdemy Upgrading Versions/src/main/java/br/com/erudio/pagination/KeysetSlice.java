@@ -0,0 +1,36 @@
+package br.com.erudio.pagination;
+
+import java.util.List;
+
+public class KeysetSlice<T> {
+
+    private final List<T> content;
+    private final boolean hasNext;
+    private final boolean hasPrevious;
+
+    public KeysetSlice(List<T> content, boolean hasNext, boolean hasPrevious) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.hasPrevious = hasPrevious;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public boolean hasNext() {
+        return hasNext && !content.isEmpty();
+    }
+
+    public boolean hasPrevious() {
+        return hasPrevious && !content.isEmpty();
+    }
+
+    public T getFirst() {
+        return content.get(0);
+    }
+
+    public T getLast() {
+        return content.get(content.size() - 1);
+    }
+}
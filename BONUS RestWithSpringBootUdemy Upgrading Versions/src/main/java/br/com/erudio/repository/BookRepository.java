@@ -1,15 +1,111 @@
 package br.com.erudio.repository;
 
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.data.model.Book;
+import br.com.erudio.data.vo.v1.BookVO;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
-    @Query("SELECT b FROM Book b WHERE b.title LIKE LOWER(CONCAT('%', :title, '%'))")
-    Page<Book> findBookByTitle(@Param("title") String title, Pageable pageable);
+
+    // Projeção direta no VO: sem entidades gerenciadas, snapshots de dirty checking ou conversão
+    String BOOK_VO = "SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title) FROM Book b";
+
+    // O cache guarda o BookVO (ver BookServices.findById); toda escrita por id remove a entrada correspondente
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#result.id")
+    <S extends Book> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    <S extends Book> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#p0.id")
+    void delete(Book entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    void deleteAllInBatch();
+
+    // UPDATE condicional numa só ida ao banco; sem versão (If-Match ausente) a atualização é incondicional
+    @Modifying
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#p0")
+    @Query("UPDATE Book b SET b.author = :author, b.launchDate = :launchDate, b.price = :price, " +
+           "b.title = :title, b.titleSearch = :titleSearch, b.version = b.version + 1 " +
+           "WHERE b.id = :id AND (:version IS NULL OR b.version = :version)")
+    int updateBook(@Param("id") Long id, @Param("author") String author, @Param("launchDate") LocalDate launchDate,
+                   @Param("price") BigDecimal price, @Param("title") String title,
+                   @Param("titleSearch") String titleSearch, @Param("version") Long version);
+
+    // DELETE direto, sem carregar a entidade; 0 linhas afetadas significa que o id não existe
+    @Modifying
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#p0")
+    @Query("DELETE FROM Book b WHERE b.id = :id")
+    int deleteBookById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.id IN :ids")
+    int deleteBooksById(@Param("ids") Collection<Long> ids);
+
+    // Os padrões vêm de SearchText.likePattern: já normalizados e com % e _ escapados por '!'
+    @Query(value = BOOK_VO + " WHERE b.titleSearch LIKE :pattern ESCAPE '!'",
+           countQuery = "SELECT COUNT(b) FROM Book b WHERE b.titleSearch LIKE :pattern ESCAPE '!'")
+    Page<BookVO> findBookByTitle(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(BOOK_VO + " WHERE b.titleSearch LIKE :pattern ESCAPE '!'")
+    Slice<BookVO> findBookSliceByTitle(@Param("pattern") String pattern, Pageable pageable);
+
+    // Stream somente-leitura em ordem de id; o fetch size evita que o driver traga a tabela inteira para a memória
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(BOOK_VO + " ORDER BY b.id")
+    Stream<BookVO> streamAllVOs();
+
+    @Query(value = BOOK_VO, countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookVO> findAllVOs(Pageable pageable);
+
+    @Query(BOOK_VO)
+    Slice<BookVO> findAllBy(Pageable pageable);
+
+    @Query(BOOK_VO + " WHERE b.id IN :ids")
+    List<BookVO> findAllVOsById(@Param("ids") Collection<Long> ids);
+
+    // title pode ser null: no MySQL (e no H2) NULL vem antes de qualquer texto em ORDER BY title ASC,
+    // então os livros sem título formam o começo da ordenação e têm consultas próprias
+    @Query(BOOK_VO + " WHERE b.title > :title OR (b.title = :title AND b.id > :id)")
+    Slice<BookVO> findBooksAfter(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_VO + " WHERE (b.title IS NULL AND b.id > :id) OR b.title IS NOT NULL")
+    Slice<BookVO> findBooksAfterNullTitle(@Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_VO + " WHERE b.title < :title OR (b.title = :title AND b.id < :id) OR b.title IS NULL")
+    Slice<BookVO> findBooksBefore(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    @Query(BOOK_VO + " WHERE b.title IS NULL AND b.id < :id")
+    Slice<BookVO> findBooksBeforeNullTitle(@Param("id") Long id, Pageable pageable);
+
+    Slice<Book> findByIdGreaterThan(Long id, Pageable pageable);
 }
@@ -1,21 +1,116 @@
 package br.com.erudio.repository;
 
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.data.model.Person;
+import br.com.erudio.data.vo.v1.PersonVO;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long> {
 
+    // Projeção direta no VO: sem entidades gerenciadas, snapshots de dirty checking ou conversão
+    String PERSON_VO = "SELECT new br.com.erudio.data.vo.v1.PersonVO(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p";
+
+    // O cache guarda o PersonVO (ver PersonServices.findById); toda escrita por id remove a entrada correspondente
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#result.id")
+    <S extends Person> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, allEntries = true)
+    <S extends Person> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#p0.id")
+    void delete(Person entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, allEntries = true)
+    void deleteAllInBatch();
+
+
+    // UPDATE em JPQL não passa pelo contexto de persistência: a entrada do cache precisa sair aqui
+    @Modifying
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#p0")
+    @Query("UPDATE Person p SET p.enabled = false, p.version = p.version + 1 WHERE p.id = :id")
+    int disablePersons(@Param("id") Long id);
+
     @Modifying
-    @Query("UPDATE Person p SET p.enabled = false WHERE p.id = :id")
-    void disablePersons(@Param("id") Long id);
+    @Query("UPDATE Person p SET p.enabled = :enabled, p.version = p.version + 1 WHERE p.id IN :ids")
+    int updateEnabled(@Param("ids") Collection<Long> ids, @Param("enabled") Boolean enabled);
+
+    // UPDATE condicional numa só ida ao banco; sem versão (If-Match ausente) a atualização é incondicional
+    @Modifying
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#p0")
+    @Query("UPDATE Person p SET p.firstName = :firstName, p.firstNameSearch = :firstNameSearch, p.lastName = :lastName, p.address = :address, " +
+           "p.gender = :gender, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND (:version IS NULL OR p.version = :version)")
+    int updatePerson(@Param("id") Long id, @Param("firstName") String firstName,
+                     @Param("firstNameSearch") String firstNameSearch, @Param("lastName") String lastName,
+                     @Param("address") String address, @Param("gender") String gender, @Param("version") Long version);
+
+    // DELETE direto, sem carregar a entidade; 0 linhas afetadas significa que o id não existe
+    @Modifying
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PERSONS, key = "#p0")
+    @Query("DELETE FROM Person p WHERE p.id = :id")
+    int deletePersonById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Person p WHERE p.id IN :ids")
+    int deletePersonsById(@Param("ids") Collection<Long> ids);
+
+    // Os padrões vêm de SearchText.likePattern: já normalizados e com % e _ escapados por '!'
+    // Próximo bloco de ids em ordem de id, a partir do último já processado
+    @Query("SELECT p.id FROM Person p WHERE p.firstNameSearch LIKE :pattern ESCAPE '!' AND p.id > :id ORDER BY p.id")
+    List<Long> findIdsByNameAfter(@Param("pattern") String pattern, @Param("id") Long id, Pageable pageable);
+
+    @Query(value = PERSON_VO + " WHERE p.firstNameSearch LIKE :pattern ESCAPE '!'",
+           countQuery = "SELECT COUNT(p) FROM Person p WHERE p.firstNameSearch LIKE :pattern ESCAPE '!'")
+    Page<PersonVO> findPersonByName(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(PERSON_VO + " WHERE p.firstNameSearch LIKE :pattern ESCAPE '!'")
+    Slice<PersonVO> findPersonSliceByName(@Param("pattern") String pattern, Pageable pageable);
+
+    // Stream somente-leitura em ordem de id; o fetch size evita que o driver traga a tabela inteira para a memória
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(PERSON_VO + " ORDER BY p.id")
+    Stream<PersonVO> streamAllVOs();
+
+    @Query(value = PERSON_VO, countQuery = "SELECT COUNT(p) FROM Person p")
+    Page<PersonVO> findAllVOs(Pageable pageable);
+
+    @Query(PERSON_VO)
+    Slice<PersonVO> findAllBy(Pageable pageable);
+
+    @Query(PERSON_VO + " WHERE p.id IN :ids")
+    List<PersonVO> findAllVOsById(@Param("ids") Collection<Long> ids);
+
+    @Query(PERSON_VO + " WHERE p.firstName > :firstName OR (p.firstName = :firstName AND p.id > :id)")
+    Slice<PersonVO> findPersonsAfter(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
+
+    @Query(PERSON_VO + " WHERE p.firstName < :firstName OR (p.firstName = :firstName AND p.id < :id)")
+    Slice<PersonVO> findPersonsBefore(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
 
-    @Query("SELECT p FROM Person p WHERE p.firstName LIKE LOWER(CONCAT('%', :firstName, '%'))")
-    Page<Person> findPersonByName(@Param("firstName") String firstName, Pageable pageable);
+    Slice<Person> findByIdGreaterThan(Long id, Pageable pageable);
 }
@@ -2,13 +2,26 @@ package br.com.erudio.repository;
 
 import br.com.erudio.data.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.userName = :userName")
     User findByUserName(@Param("userName") String userName);
+
+    @Query("SELECT u.userName FROM User u WHERE u.enabled = false OR u.accountNonLocked = false " +
+            "OR u.accountNonExpired = false OR u.credentialsNonExpired = false")
+    List<String> findDeniedUserNames();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.userName = :userName")
+    int updatePassword(@Param("userName") String userName, @Param("password") String password);
 }
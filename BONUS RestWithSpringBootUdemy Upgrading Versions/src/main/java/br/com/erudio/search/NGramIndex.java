@@ -0,0 +1,194 @@
+package br.com.erudio.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Índice invertido de trigramas para buscas do tipo "contém" sem varrer a tabela. Termos com menos de 3 caracteres
+// ficam de fora: as listas de 1 e 2 caracteres teriam quase todas as linhas e custariam mais memória que o resto.
+// Cada lista de postings já fica ordenada por (texto, id), então uma busca só percorre o necessário para a página.
+public class NGramIndex {
+
+    private static final int N = 3;
+
+    private static final Comparator<Entry> ORDER = Comparator.comparing((Entry e) -> e.text)
+            .thenComparing(e -> e.id);
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+
+    public synchronized void put(Long id, String text) {
+        remove(id);
+        if (text == null) {
+            return;
+        }
+        Entry entry = new Entry(id, normalize(text));
+        entries.put(id, entry);
+        for (String gram : grams(entry.text)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(entry);
+        }
+    }
+
+    // Usado na carga inicial: não sobrescreve o que os listeners já indexaram com dados mais novos
+    public synchronized void putIfAbsent(Long id, String text) {
+        if (!entries.containsKey(id)) {
+            put(id, text);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : grams(previous.text)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(previous) && list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        postings.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Só termos com pelo menos um trigrama podem ser respondidos pelo índice
+    public static boolean isSearchable(String term) {
+        String normalized = normalize(term);
+        return normalized != null && normalized.length() >= N;
+    }
+
+    // Página de ids cujo texto contém o termo, na ordem (texto, id). O total é exato para termos de 3
+    // caracteres; para termos maiores a contagem para em countLimit (ou no fim da página, se estiver além dele)
+    // e, se parou antes do fim da lista, o total é só um mínimo (Hits.isExact() == false).
+    public Hits search(String term, boolean ascending, long offset, int limit, int countLimit) {
+        if (!isSearchable(term)) {
+            throw new IllegalArgumentException("Search term must have at least " + N + " characters");
+        }
+        String normalized = normalize(term);
+
+        Postings smallest = null;
+        for (String gram : grams(normalized)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return Hits.EMPTY;
+            }
+            if (smallest == null || list.size() < smallest.size()) {
+                smallest = list;
+            }
+        }
+
+        boolean exact = normalized.length() == N;
+        long stopAt = exact ? offset + limit : Math.max(countLimit, offset + limit + 1);
+        NavigableSet<Entry> ordered = ascending ? smallest.entries : smallest.entries.descendingSet();
+
+        List<Long> ids = new ArrayList<>(limit);
+        long matched = 0;
+        boolean capped = false;
+        for (Entry entry : ordered) {
+            if (matched >= stopAt) {
+                capped = true;
+                break;
+            }
+            // Termo com mais de 3 caracteres: a menor lista só dá candidatos, o contains confirma
+            if (!exact && !entry.text.contains(normalized)) {
+                continue;
+            }
+            if (matched >= offset && ids.size() < limit) {
+                ids.add(entry.id);
+            }
+            matched++;
+        }
+        return exact ? new Hits(ids, smallest.size(), true) : new Hits(ids, matched, !capped);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + N <= text.length(); i++) {
+            grams.add(text.substring(i, i + N));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return SearchText.normalize(text);
+    }
+
+    private static final class Entry {
+
+        private final Long id;
+        private final String text;
+
+        private Entry(Long id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    // ConcurrentSkipListSet.size() é O(n); o tamanho fica num contador à parte
+    private static final class Postings {
+
+        private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+        private final AtomicInteger size = new AtomicInteger();
+
+        private void add(Entry entry) {
+            if (entries.add(entry)) {
+                size.incrementAndGet();
+            }
+        }
+
+        private boolean remove(Entry entry) {
+            if (entries.remove(entry)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private int size() {
+            return size.get();
+        }
+    }
+
+    public static final class Hits {
+
+        private static final Hits EMPTY = new Hits(Collections.emptyList(), 0, true);
+
+        private final List<Long> ids;
+        private final long total;
+        private final boolean exact;
+
+        public Hits(List<Long> ids, long total, boolean exact) {
+            this.ids = ids;
+            this.total = total;
+            this.exact = exact;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        // false quando a contagem parou no limite: getTotal() é um mínimo, não o total
+        public boolean isExact() {
+            return exact;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.erudio.search;
+
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.model.Person;
+import br.com.erudio.services.SearchIndexServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// Mantém o índice de busca em memória sincronizado com as escritas feitas pelo JPA
+@Component
+public class SearchIndexEntityListener {
+
+    @Lazy
+    @Autowired
+    private SearchIndexServices searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Person) {
+            Person person = (Person) entity;
+            afterCommit(() -> searchIndex.indexPerson(person.getId(), person.getFirstName()));
+        } else if (entity instanceof Book) {
+            Book book = (Book) entity;
+            afterCommit(() -> searchIndex.indexBook(book.getId(), book.getTitle()));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Person) {
+            Long id = ((Person) entity).getId();
+            afterCommit(() -> searchIndex.removePerson(id));
+        } else if (entity instanceof Book) {
+            Long id = ((Book) entity).getId();
+            afterCommit(() -> searchIndex.removeBook(id));
+        }
+    }
+
+    // Só altera o índice depois do commit, para não expor escritas que sofreram rollback
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.erudio.search;
+
+import br.com.erudio.exception.InvalidRequestException;
+
+public enum SearchMode {
+
+    // "começa com": vira um range scan no índice da coluna *_search
+    PREFIX,
+    // "contém": não usa índice B-tree; atendido pelo índice de trigramas quando pronto
+    CONTAINS;
+
+    public static SearchMode from(String value) {
+        for (SearchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new InvalidRequestException("Invalid search mode '" + value + "', use prefix or contains");
+    }
+}
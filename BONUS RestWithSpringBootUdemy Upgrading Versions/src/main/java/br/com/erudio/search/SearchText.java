@@ -0,0 +1,41 @@
+package br.com.erudio.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Normalização única para as colunas *_search, o índice de trigramas e os termos de busca:
+// minúsculas e sem acentos ("João" -> "joao")
+public final class SearchText {
+
+    public static final char LIKE_ESCAPE = '!';
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchText() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT).trim();
+    }
+
+    // Padrão para LIKE ... ESCAPE '!': o termo do usuário nunca vira curinga
+    public static String likePattern(String term, SearchMode mode) {
+        String normalized = normalize(term == null ? "" : term);
+        StringBuilder pattern = new StringBuilder(normalized.length() + 2);
+        if (mode == SearchMode.CONTAINS) {
+            pattern.append('%');
+        }
+        for (char c : normalized.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.erudio.secutiry;
+
+import br.com.erudio.data.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// Cópia imutável do usuário guardada no cache: a entidade JPA é mutável e não pode ser compartilhada
+// entre threads. Não implementa CredentialsContainer para o ProviderManager não apagar o hash do cache.
+public final class CachedUserDetails implements UserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String username;
+    private final String password;
+    private final List<String> roles;
+    private final List<GrantedAuthority> authorities;
+    private final boolean accountNonExpired;
+    private final boolean accountNonLocked;
+    private final boolean credentialsNonExpired;
+    private final boolean enabled;
+
+    private CachedUserDetails(User user) {
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.roles = Collections.unmodifiableList(new ArrayList<>(user.getRoles()));
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (String role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role));
+        }
+        this.authorities = Collections.unmodifiableList(authorities);
+        // As colunas aceitam NULL: só false bloqueia, como na consulta da UserDenyList
+        this.accountNonExpired = !Boolean.FALSE.equals(user.getAccountNonExpired());
+        this.accountNonLocked = !Boolean.FALSE.equals(user.getAccountNonLocked());
+        this.credentialsNonExpired = !Boolean.FALSE.equals(user.getCredentialsNonExpired());
+        this.enabled = !Boolean.FALSE.equals(user.getEnabled());
+    }
+
+    public static CachedUserDetails of(User user) {
+        return new CachedUserDetails(user);
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return accountNonExpired;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CachedUserDetails that = (CachedUserDetails) o;
+        return Objects.equals(username, that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.erudio.secutiry;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class RefreshTokenVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String refreshToken;
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RefreshTokenVO that = (RefreshTokenVO) o;
+        return Objects.equals(refreshToken, that.refreshToken);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(refreshToken);
+    }
+}
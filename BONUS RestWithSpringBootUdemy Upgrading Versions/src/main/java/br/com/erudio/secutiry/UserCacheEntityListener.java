@@ -0,0 +1,113 @@
+package br.com.erudio.secutiry;
+
+import br.com.erudio.data.model.Permission;
+import br.com.erudio.data.model.User;
+import br.com.erudio.secutiry.jwt.UserDenyList;
+import br.com.erudio.services.UserServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// Invalida o cache de UserDetails e atualiza a deny list do JWT quando usuários ou permissões mudam pelo JPA;
+// o cache é transacional e a deny list só é atualizada depois do commit
+@Component
+public class UserCacheEntityListener {
+
+    @Lazy
+    @Autowired
+    private UserServices userServices;
+
+    @Lazy
+    @Autowired
+    private UserDenyList denyList;
+
+    @Lazy
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private volatile boolean collectionListenersRegistered;
+
+    @PostPersist
+    public void onCreate(Object entity) {
+        if (entity instanceof User) {
+            User user = (User) entity;
+            afterCommit(() -> denyList.update(user));
+        }
+    }
+
+    @PostUpdate
+    public void onChange(Object entity) {
+        if (entity instanceof User) {
+            User user = (User) entity;
+            userServices.evict(user.getUsername());
+            afterCommit(() -> denyList.update(user));
+        } else if (entity instanceof Permission) {
+            // Uma permissão pode estar em qualquer usuário em cache
+            userServices.evictAll();
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof User) {
+            String userName = ((User) entity).getUsername();
+            userServices.evict(userName);
+            // Usuário removido é barrado sempre, qualquer que fosse o estado dele
+            afterCommit(() -> denyList.remove(userName));
+        } else if (entity instanceof Permission) {
+            userServices.evictAll();
+        }
+    }
+
+    // Conceder ou revogar permissões só mexe em user_permission e não dispara @PostUpdate no User:
+    // para isso é preciso ouvir os eventos de coleção do Hibernate. Registrado depois do refresh porque
+    // o próprio listener é criado durante a inicialização do EntityManagerFactory.
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void registerCollectionListeners() {
+        if (collectionListenersRegistered) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE,
+                (PostCollectionUpdateEventListener) this::onCollectionChange);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE,
+                (PostCollectionRecreateEventListener) this::onCollectionChange);
+        collectionListenersRegistered = true;
+    }
+
+    private void onCollectionChange(AbstractCollectionEvent event) {
+        Object owner = event.getAffectedOwnerOrNull();
+        if (owner instanceof User) {
+            userServices.evict(((User) owner).getUsername());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.erudio.secutiry.jwt;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Para desenvolvimento e instância única: os tokens se perdem quando a aplicação reinicia
+@Component
+@ConditionalOnProperty(name = "security.jwt.refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String tokenHash, String username, Instant expiresAt) {
+        tokens.put(tokenHash, new Entry(username, expiresAt));
+    }
+
+    @Override
+    public String consume(String tokenHash, Instant now) {
+        Entry entry = tokens.remove(tokenHash);
+        return entry != null && entry.expiresAt.isAfter(now) ? entry.username : null;
+    }
+
+    @Override
+    public void revokeAll(String username) {
+        tokens.values().removeIf(entry -> entry.username.equals(username));
+    }
+
+    @Override
+    public int removeExpired(Instant now) {
+        int before = tokens.size();
+        tokens.values().removeIf(entry -> !entry.expiresAt.isAfter(now));
+        return before - tokens.size();
+    }
+
+    private static class Entry {
+        private final String username;
+        private final Instant expiresAt;
+
+        private Entry(String username, Instant expiresAt) {
+            this.username = username;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
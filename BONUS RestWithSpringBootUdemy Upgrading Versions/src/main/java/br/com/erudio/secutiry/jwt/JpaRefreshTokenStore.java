@@ -0,0 +1,47 @@
+package br.com.erudio.secutiry.jwt;
+
+import br.com.erudio.data.model.RefreshToken;
+import br.com.erudio.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+// Tabela compacta (hash, usuário, expiração): o refresh é um SELECT ... FOR UPDATE e um DELETE pela chave primária,
+// na mesma transação de escrita (no primário: o token acabou de ser gravado e a réplica pode não ter a linha ainda)
+@Component
+@ConditionalOnProperty(name = "security.jwt.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    @Autowired
+    RefreshTokenRepository repository;
+
+    @Override
+    public void save(String tokenHash, String username, Instant expiresAt) {
+        repository.save(new RefreshToken(tokenHash, username, expiresAt));
+    }
+
+    @Override
+    @Transactional
+    public String consume(String tokenHash, Instant now) {
+        // Com a linha travada, a outra chamada concorrente só lê depois do commit e não encontra mais o token
+        RefreshToken token = repository.findForUpdate(tokenHash).orElse(null);
+        if (token == null) {
+            return null;
+        }
+        repository.delete(token);
+        return token.getExpiresAt().isAfter(now) ? token.getUserName() : null;
+    }
+
+    @Override
+    public void revokeAll(String username) {
+        repository.deleteByUserName(username);
+    }
+
+    @Override
+    public int removeExpired(Instant now) {
+        return repository.deleteExpired(now);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.erudio.secutiry.jwt;
 
+import br.com.erudio.secutiry.ratelimit.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,13 +12,23 @@ public class JwtConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilt
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    private RateLimitFilter rateLimitFilter;
+
     public JwtConfigurer(JwtTokenProvider tokenProvider) {
         this.tokenProvider = tokenProvider;
     }
 
+    public JwtConfigurer(JwtTokenProvider tokenProvider, RateLimitFilter rateLimitFilter) {
+        this.tokenProvider = tokenProvider;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
     @Override
     public void configure(HttpSecurity http) throws Exception {
         JwtTokenFilter customFilter = new JwtTokenFilter(tokenProvider);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
+        if (rateLimitFilter != null) {
+            http.addFilterBefore(rateLimitFilter, JwtTokenFilter.class);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package br.com.erudio.secutiry.jwt;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,8 +25,11 @@ public class JwtTokenFilter extends GenericFilterBean {
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
         String token = tokenProvider.resolveToken((HttpServletRequest) request);
-        if (token != null && tokenProvider.validateToken(token)) {
-            Authentication auth = tokenProvider.getAuthentication(token);
+        // Signin e refresh não dependem do access token, que pode chegar já vencido
+        if (token != null && !((HttpServletRequest) request).getServletPath().startsWith("/auth/")) {
+            // Verifica uma vez só e reaproveita as claims; token inválido ou vencido lança exceção
+            Claims claims = tokenProvider.verifyToken(token);
+            Authentication auth = tokenProvider.getAuthentication(claims);
             if (auth != null) {
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
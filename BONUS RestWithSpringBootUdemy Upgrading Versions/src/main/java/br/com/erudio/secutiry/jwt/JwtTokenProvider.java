@@ -1,24 +1,38 @@
 package br.com.erudio.secutiry.jwt;
 
 import br.com.erudio.exception.InvalidJwtAuthenticationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.crypto.spec.SecretKeySpec;
 import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtTokenProvider {
@@ -28,13 +42,56 @@ public class JwtTokenProvider {
     @Value("${security.jwt.token.expire-length:3600000}")
     private long validityInMilliseconds = 3600000; //1h
 
+    @Value("${security.jwt.stateless:false}")
+    private boolean stateless;
+
+    @Value("${security.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize = 10000;
+
     @Qualifier("userServices")
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserDenyList denyList;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Key signingKey;
+
+    // Tokens já verificados, pelo hash SHA-256 (o token em si não fica em memória);
+    // cada entrada expira junto com o token, então um acerto nunca devolve um token vencido
+    private Cache<String, Claims> verifiedTokens;
+
     @PostConstruct
     public void init() {
-        secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+        // Mesmos bytes que o jjwt obtinha decodificando a chave em Base64 a cada chamada: tokens antigos continuam válidos
+        signingKey = new SecretKeySpec(secretKey.getBytes(), SignatureAlgorithm.HS256.getJcaName());
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        }
     }
 
     public String createToken(String username, List<String> roles) {
@@ -48,17 +105,54 @@ public class JwtTokenProvider {
                 .setClaims(claims)
                 .setIssuedAt(now)
                 .setExpiration(validity)
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .signWith(SignatureAlgorithm.HS256, signingKey)
                 .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        UserDetails userDetails = this.userDetailsService.loadUserByUsername(getUsername(token));
+    // Única passagem de verificação (assinatura e expiração) por token; o filtro usa as claims devolvidas
+    public Claims verifyToken(String token) {
+        String hash = sha256(token);
+        Claims cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims;
+        try {
+            claims = Jwts.parser().setSigningKey(signingKey).parseClaimsJws(token).getBody();
+        } catch (Exception e) {
+            throw new InvalidJwtAuthenticationException("Expired or invalid token");
+        }
+        if (claims.getExpiration() == null) {
+            throw new InvalidJwtAuthenticationException("Expired or invalid token");
+        }
+        verifiedTokens.put(hash, claims);
+        return claims;
+    }
+
+    public Authentication getAuthentication(Claims claims) {
+        if (stateless && denyList.isLoaded()) {
+            return getStatelessAuthentication(claims);
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
-    private String getUsername(String token) {
-        return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject();
+    // O token é assinado por nós: subject e roles são confiáveis até expirar, só o bloqueio do usuário
+    // precisa ser conferido, e isso é feito em memória pela deny list
+    private Authentication getStatelessAuthentication(Claims claims) {
+        String username = claims.getSubject();
+        if (denyList.isDenied(username)) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        List<?> roles = claims.get("roles", List.class);
+        if (roles != null) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+            }
+        }
+        UserDetails userDetails = new User(username, "", authorities);
+        return new UsernamePasswordAuthenticationToken(userDetails, "", authorities);
     }
 
     public String resolveToken(HttpServletRequest req) {
@@ -69,15 +163,12 @@ public class JwtTokenProvider {
         return null;
     }
 
-    public boolean validateToken(String token) {
+    static String sha256(String token) {
         try {
-            Jws<Claims> claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-            if (claims.getBody().getExpiration().before(new Date())) {
-                return false;
-            }
-            return true;
-        } catch (Exception e) {
-            throw new InvalidJwtAuthenticationException("Expired or invalid token");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
@@ -0,0 +1,60 @@
+package br.com.erudio.secutiry.jwt;
+
+import br.com.erudio.exception.InvalidJwtAuthenticationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+// Refresh tokens opacos (256 bits aleatórios) de uso único: cada refresh consome o token e emite outro,
+// então um token vazado para de funcionar assim que o dono legítimo renovar a sessão
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    RefreshTokenStore store;
+
+    @Value("${security.jwt.refresh-token.expire-length:1209600000}")
+    long validityInMilliseconds = 1209600000; //14d
+
+    public String create(String username) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        store.save(JwtTokenProvider.sha256(token), username, Instant.now().plusMillis(validityInMilliseconds));
+        return token;
+    }
+
+    // Devolve o usuário dono do token, que deixa de valer a partir daqui
+    public String consume(String token) {
+        String username = token == null || token.isEmpty()
+                ? null
+                : store.consume(JwtTokenProvider.sha256(token), Instant.now());
+        if (username == null) {
+            throw new InvalidJwtAuthenticationException("Expired or invalid refresh token");
+        }
+        return username;
+    }
+
+    public void revokeAll(String username) {
+        store.revokeAll(username);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-token.purge-interval:3600000}")
+    public void removeExpired() {
+        int removed = store.removeExpired(Instant.now());
+        if (removed > 0) {
+            logger.debug("Removed {} expired refresh tokens", removed);
+        }
+    }
+}
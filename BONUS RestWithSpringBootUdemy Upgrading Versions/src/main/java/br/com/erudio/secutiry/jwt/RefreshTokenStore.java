@@ -0,0 +1,17 @@
+package br.com.erudio.secutiry.jwt;
+
+import java.time.Instant;
+
+// Armazena os refresh tokens pelo hash; a implementação é escolhida por security.jwt.refresh-token.store
+public interface RefreshTokenStore {
+
+    void save(String tokenHash, String username, Instant expiresAt);
+
+    // Remove o token e devolve o usuário dono dele, ou null se não existir ou estiver vencido.
+    // Só uma chamada concorrente consegue consumir o mesmo token.
+    String consume(String tokenHash, Instant now);
+
+    void revokeAll(String username);
+
+    int removeExpired(Instant now);
+}
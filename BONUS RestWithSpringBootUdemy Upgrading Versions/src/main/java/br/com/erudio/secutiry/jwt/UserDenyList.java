@@ -0,0 +1,114 @@
+package br.com.erudio.secutiry.jwt;
+
+import br.com.erudio.data.model.User;
+import br.com.erudio.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Usuários desativados, bloqueados ou expirados que devem ser recusados mesmo com um token ainda válido.
+// A leitura é um lookup num Set imutável, sem lock; as escritas trocam o Set inteiro (são raras).
+@Component
+public class UserDenyList {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDenyList.class);
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Value("${security.jwt.stateless:false}")
+    boolean stateless;
+
+    @Value("${security.jwt.token.expire-length:3600000}")
+    long tokenValidityInMilliseconds = 3600000;
+
+    private volatile Set<String> denied = Collections.emptySet();
+    private volatile boolean loaded;
+
+    // Alterações locais que chegam durante uma recarga e precisam sobreviver à troca do Set
+    private final Map<String, Boolean> changesDuringRefresh = new HashMap<>();
+    private boolean refreshing;
+
+    // Usuários removidos não aparecem em findDeniedUserNames: ficam aqui (nome -> momento da remoção)
+    // até o último token emitido para eles expirar
+    private final Map<String, Long> removed = new HashMap<>();
+
+    // Recarga completa a partir do banco: cobre alterações feitas fora do JPA ou em outras instâncias
+    @Scheduled(fixedDelayString = "${security.jwt.deny-list.refresh-interval:30000}")
+    public void refresh() {
+        if (!stateless) {
+            return;
+        }
+        synchronized (this) {
+            refreshing = true;
+            changesDuringRefresh.clear();
+        }
+        try {
+            Set<String> next = new HashSet<>(userRepository.findDeniedUserNames());
+            synchronized (this) {
+                long expired = System.currentTimeMillis() - tokenValidityInMilliseconds;
+                removed.values().removeIf(removedAt -> removedAt < expired);
+                next.addAll(removed.keySet());
+                changesDuringRefresh.forEach((userName, deny) -> apply(next, userName, deny));
+                denied = Collections.unmodifiableSet(next);
+                loaded = true;
+            }
+        } catch (Exception e) {
+            logger.warn("Could not refresh the JWT deny list, keeping the previous one", e);
+        } finally {
+            synchronized (this) {
+                refreshing = false;
+            }
+        }
+    }
+
+    // Chamado depois do commit de uma alteração de usuário, para não esperar a próxima recarga
+    public synchronized void update(User user) {
+        boolean deny = !(Boolean.TRUE.equals(user.getEnabled()) && Boolean.TRUE.equals(user.getAccountNonLocked())
+                && Boolean.TRUE.equals(user.getAccountNonExpired()) && Boolean.TRUE.equals(user.getCredentialsNonExpired()));
+        // Um usuário recriado com o nome de um removido deixa de ser barrado pela remoção
+        removed.remove(user.getUsername());
+        change(user.getUsername(), deny);
+    }
+
+    // Chamado depois do commit da remoção: os tokens já emitidos para o usuário continuam assinados e válidos
+    public synchronized void remove(String userName) {
+        removed.put(userName, System.currentTimeMillis());
+        change(userName, true);
+    }
+
+    // Até a primeira carga a lista não é confiável e o filtro volta a consultar o banco
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isDenied(String userName) {
+        return denied.contains(userName);
+    }
+
+    private void change(String userName, boolean deny) {
+        Set<String> next = new HashSet<>(denied);
+        apply(next, userName, deny);
+        denied = Collections.unmodifiableSet(next);
+        if (refreshing) {
+            changesDuringRefresh.put(userName, deny);
+        }
+    }
+
+    private void apply(Set<String> set, String userName, boolean deny) {
+        if (deny) {
+            set.add(userName);
+        } else {
+            set.remove(userName);
+        }
+    }
+}
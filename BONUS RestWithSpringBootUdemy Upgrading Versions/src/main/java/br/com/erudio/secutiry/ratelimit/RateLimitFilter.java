@@ -0,0 +1,126 @@
+package br.com.erudio.secutiry.ratelimit;
+
+import br.com.erudio.exception.ExceptionResponse;
+import br.com.erudio.secutiry.jwt.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Roda antes do JwtTokenFilter: requisições acima do limite são recusadas com 429 antes de
+// qualquer consulta ao banco ou BCrypt. OncePerRequestFilter para o dispatch assíncrono do signin
+// não consumir um segundo token.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Limit> limits = new ArrayList<>();
+    private final JwtTokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, JwtTokenProvider tokenProvider, ObjectMapper objectMapper) {
+        this.tokenProvider = tokenProvider;
+        this.objectMapper = objectMapper;
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            limits.add(new Limit(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Limit limit = match(request.getServletPath());
+        if (limit != null) {
+            long waitNanos = limit.tryConsume(key(limit, request), System.nanoTime());
+            if (waitNanos > 0) {
+                reject(request, response, waitNanos);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    // Vale o padrão mais específico, com o mesmo comparador do mapeamento de rotas do Spring MVC:
+    // a ordem dos grupos no mapa depende de onde cada propriedade veio e não pode decidir o grupo
+    private Limit match(String path) {
+        Comparator<String> specificity = pathMatcher.getPatternComparator(path);
+        Limit best = null;
+        String bestPattern = null;
+        for (Limit limit : limits) {
+            for (String pattern : limit.group.getPatterns()) {
+                if (pathMatcher.match(pattern, path) && (bestPattern == null || specificity.compare(pattern, bestPattern) < 0)) {
+                    best = limit;
+                    bestPattern = pattern;
+                }
+            }
+        }
+        return best;
+    }
+
+    private String key(Limit limit, HttpServletRequest request) {
+        if (limit.group.getKey() == RateLimitProperties.KeyType.USER) {
+            String token = tokenProvider.resolveToken(request);
+            if (token != null) {
+                try {
+                    // Verificação em cache: o JwtTokenFilter logo depois reaproveita as claims
+                    return "user:" + tokenProvider.verifyToken(token).getSubject();
+                } catch (AuthenticationException e) {
+                    // Token inválido cai no limite por IP; o JwtTokenFilter recusa a requisição em seguida
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        ExceptionResponse exceptionResponse = new ExceptionResponse(new Date(), HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(), "Rate limit exceeded, please try again later",
+                "uri=" + request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), exceptionResponse);
+    }
+
+    private class Limit {
+
+        private final RateLimitProperties.Group group;
+        private final TokenBucket bucket;
+        // Mapa limitado: chaves paradas somem quando o balde já estaria cheio, sem mudar o resultado
+        private final Cache<String, AtomicLong> states;
+
+        private Limit(String name, RateLimitProperties.Group group) {
+            if (group.getPatterns().isEmpty()) {
+                throw new IllegalArgumentException("Rate limit group '" + name + "' has no patterns");
+            }
+            this.group = group;
+            this.bucket = new TokenBucket(group.getCapacity(), group.getRefillTokens(), group.getRefillPeriod().toNanos());
+            this.states = Caffeine.newBuilder()
+                    .maximumSize(group.getMaxKeys())
+                    .expireAfterAccess(bucket.refillNanos(), TimeUnit.NANOSECONDS)
+                    .build();
+        }
+
+        private long tryConsume(String key, long nowNanos) {
+            return bucket.tryConsume(states.get(key, k -> bucket.newState(nowNanos)), nowNanos);
+        }
+    }
+}
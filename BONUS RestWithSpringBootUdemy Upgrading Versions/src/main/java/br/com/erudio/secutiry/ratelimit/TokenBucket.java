@@ -0,0 +1,44 @@
+package br.com.erudio.secutiry.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket na forma GCRA: o estado de cada chave é um único long (o instante teórico em que o
+// próximo token estaria disponível), atualizado por CAS, sem lock e sem thread de reposição
+public class TokenBucket {
+
+    private final long capacity;
+    private final long intervalNanos;
+
+    public TokenBucket(long capacity, long refillTokens, long refillPeriodNanos) {
+        if (capacity < 1 || refillTokens < 1 || refillPeriodNanos < refillTokens) {
+            throw new IllegalArgumentException("Invalid token bucket: capacity=" + capacity
+                    + ", refillTokens=" + refillTokens + ", refillPeriodNanos=" + refillPeriodNanos);
+        }
+        this.capacity = capacity;
+        this.intervalNanos = refillPeriodNanos / refillTokens;
+    }
+
+    public AtomicLong newState(long nowNanos) {
+        return new AtomicLong(nowNanos);
+    }
+
+    // Consome um token: devolve 0 se a requisição passa, ou quantos nanos faltam para o próximo token
+    public long tryConsume(AtomicLong state, long nowNanos) {
+        while (true) {
+            long current = state.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long allowedAt = next - capacity * intervalNanos;
+            if (allowedAt > nowNanos) {
+                return allowedAt - nowNanos;
+            }
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Depois desse tempo parado o balde está cheio de novo, igual a um recém-criado
+    public long refillNanos() {
+        return capacity * intervalNanos;
+    }
+}
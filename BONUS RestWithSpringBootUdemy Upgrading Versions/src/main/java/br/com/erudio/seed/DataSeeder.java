@@ -0,0 +1,133 @@
+package br.com.erudio.seed;
+
+import br.com.erudio.services.SequenceServices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// Carga de dados sintéticos para testes de carga, fora das migrations do Flyway:
+// java -jar app.jar --spring.profiles.active=seed --seed.persons=10000000 --seed.books=1000000 --seed.users=1000
+@Component
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+public class DataSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    @Autowired
+    SeedProperties properties;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    SequenceServices sequenceServices;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Cada tabela tem sua própria sequência pseudoaleatória: mudar a quantidade de uma não altera as outras
+        seedPersons(new SyntheticRows(properties.getRandomSeed()));
+        seedBooks(new SyntheticRows(properties.getRandomSeed() + 1));
+        seedUsers(new SyntheticRows(properties.getRandomSeed() + 2));
+
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void seedPersons(SyntheticRows rows) {
+        long total = properties.getPersons();
+        if (total <= 0) return;
+
+        long firstId = sequenceServices.reserve("person", total);
+        MultiRowInsert insert = new MultiRowInsert(jdbcTemplate, "person", properties.getBatchSize(),
+                "id", "address", "first_name", "first_name_search", "gender", "last_name", "enabled", "version");
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            insert.add(rows.person(firstId + i));
+            report("person", i + 1, total, start);
+        }
+        insert.flush();
+        logDone("person", insert.getWrittenRows(), start);
+    }
+
+    private void seedBooks(SyntheticRows rows) {
+        long total = properties.getBooks();
+        if (total <= 0) return;
+
+        long firstId = sequenceServices.reserve("books", total);
+        MultiRowInsert insert = new MultiRowInsert(jdbcTemplate, "books", properties.getBatchSize(),
+                "id", "author", "launch_date", "price", "title", "title_search", "version");
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            insert.add(rows.book(firstId + i));
+            report("books", i + 1, total, start);
+        }
+        insert.flush();
+        logDone("books", insert.getWrittenRows(), start);
+    }
+
+    private void seedUsers(SyntheticRows rows) {
+        long total = properties.getUsers();
+        if (total <= 0) return;
+
+        // Um único hash para todos: o BCrypt é caro de propósito
+        String encodedPassword = passwordEncoder.encode(properties.getUserPassword());
+        String prefix = "seed_" + properties.getRandomSeed() + "_";
+        // Os nomes continuam a partir do maior id atual: rodar de novo com a mesma semente acrescenta usuários em vez de
+        // colidir com os da carga anterior (ids AUTO_INCREMENT só crescem, então nenhum nome se repete)
+        long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+        MultiRowInsert insert = new MultiRowInsert(jdbcTemplate, "users", properties.getBatchSize(),
+                "user_name", "full_name", "password", "account_non_expired", "account_non_locked",
+                "credentials_non_expired", "enabled");
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            insert.add(rows.user(prefix + (lastId + 1 + i), encodedPassword));
+            report("users", i + 1, total, start);
+        }
+        insert.flush();
+
+        // Os ids de users são AUTO_INCREMENT: as permissões entram num só INSERT ... SELECT, restrito às linhas
+        // inseridas agora (id acima do maior anterior) e com o "_" do prefixo escapado para não virar curinga no LIKE
+        jdbcTemplate.update("INSERT INTO user_permission (id_user, id_permission) " +
+                "SELECT u.id, p.id FROM users u, permission p " +
+                "WHERE u.id > ? AND u.user_name LIKE ? ESCAPE '!' AND p.description = ?",
+                lastId, likePrefix(prefix), properties.getUserPermission());
+        logDone("users", insert.getWrittenRows(), start);
+    }
+
+    static String likePrefix(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private void report(String table, long done, long total, long start) {
+        if (done % properties.getReportEvery() == 0 && done < total) {
+            logger.info("Seeding {}: {} of {} rows ({} rows/s)", table, done, total, rowsPerSecond(done, start));
+        }
+    }
+
+    private void logDone(String table, long rows, long start) {
+        logger.info("Seeded {} rows into {} in {} ms ({} rows/s)", rows, table,
+                (System.nanoTime() - start) / 1_000_000, rowsPerSecond(rows, start));
+    }
+
+    private long rowsPerSecond(long rows, long start) {
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+        return rows * 1_000_000_000L / elapsed;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.erudio.seed;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Acumula linhas e grava em um único INSERT ... VALUES (...), (...), ... por lote
+public class MultiRowInsert {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String prefix;
+    private final String rowPlaceholders;
+    private final int batchSize;
+    private final List<Object> parameters;
+    private final String fullBatchSql;
+
+    private int pendingRows;
+    private long writtenRows;
+
+    public MultiRowInsert(JdbcTemplate jdbcTemplate, String table, int batchSize, String... columns) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        this.batchSize = batchSize;
+        this.parameters = new ArrayList<>(batchSize * columns.length);
+        this.fullBatchSql = sql(batchSize);
+    }
+
+    public void add(Object... row) {
+        Collections.addAll(parameters, row);
+        if (++pendingRows == batchSize) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (pendingRows == 0) {
+            return;
+        }
+        // O SQL do lote cheio é sempre o mesmo, o que permite reaproveitar o statement preparado
+        String sql = pendingRows == batchSize ? fullBatchSql : sql(pendingRows);
+        jdbcTemplate.update(sql, parameters.toArray());
+        writtenRows += pendingRows;
+        parameters.clear();
+        pendingRows = 0;
+    }
+
+    public long getWrittenRows() {
+        return writtenRows;
+    }
+
+    private String sql(int rows) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (rowPlaceholders.length() + 2));
+        sql.append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(rowPlaceholders);
+        }
+        return sql.toString();
+    }
+}
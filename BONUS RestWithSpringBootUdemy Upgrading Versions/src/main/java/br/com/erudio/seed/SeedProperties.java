@@ -0,0 +1,89 @@
+package br.com.erudio.seed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "seed")
+public class SeedProperties {
+
+    private long persons;
+    private long books;
+    private long users;
+    private long randomSeed = 42;
+    private int batchSize = 1000;
+    private long reportEvery = 100000;
+    private String userPassword = "admin123";
+    private String userPermission = "COMMON_USER";
+    private boolean exitWhenDone = true;
+
+    public long getPersons() {
+        return persons;
+    }
+
+    public void setPersons(long persons) {
+        this.persons = persons;
+    }
+
+    public long getBooks() {
+        return books;
+    }
+
+    public void setBooks(long books) {
+        this.books = books;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public void setUsers(long users) {
+        this.users = users;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getReportEvery() {
+        return reportEvery;
+    }
+
+    public void setReportEvery(long reportEvery) {
+        this.reportEvery = reportEvery;
+    }
+
+    public String getUserPassword() {
+        return userPassword;
+    }
+
+    public void setUserPassword(String userPassword) {
+        this.userPassword = userPassword;
+    }
+
+    public String getUserPermission() {
+        return userPermission;
+    }
+
+    public void setUserPermission(String userPermission) {
+        this.userPermission = userPermission;
+    }
+
+    public boolean isExitWhenDone() {
+        return exitWhenDone;
+    }
+
+    public void setExitWhenDone(boolean exitWhenDone) {
+        this.exitWhenDone = exitWhenDone;
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.erudio.seed;
+
+import br.com.erudio.search.SearchText;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+
+// Gera linhas sintéticas a partir de uma semente: a mesma semente produz sempre os mesmos dados
+public class SyntheticRows {
+
+    private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Heitor", "Isabela", "João", "Kaye", "Leandro", "Mariana", "Nicolas", "Olivia", "Pedro", "Rafaela",
+            "Samuel", "Tatiana", "Vinicius", "Alexandra", "Sandra", "Andre", "Flavio", "Rebbecca", "Calhoun" };
+
+    private static final String[] LAST_NAMES = { "Costa", "Silva", "Souza", "Oliveira", "Pereira", "Lima", "Carvalho",
+            "Ferreira", "Rodrigues", "Almeida", "Nascimento", "Wasbrough", "Gadman", "Staveley", "Navarro", "Bastock" };
+
+    private static final String[] STREETS = { "Oneill Alley", "Ridgeway Place", "Cambridge Plaza", "Melvin Court",
+            "Montana Trail", "Monterey Place", "Rua das Flores", "Avenida Brasil", "Rua Sete de Setembro" };
+
+    private static final String[] TITLE_WORDS = { "Spring", "Boot", "REST", "Java", "Docker", "Design", "Patterns",
+            "Clean", "Code", "Microservices", "Kotlin", "Domain", "Driven", "Refactoring", "Agile", "Architecture" };
+
+    private static final LocalDate FIRST_LAUNCH = LocalDate.of(1990, 1, 1);
+
+    private final Random random;
+
+    public SyntheticRows(long seed) {
+        this.random = new Random(seed);
+    }
+
+    // id, address, first_name, first_name_search, gender, last_name, enabled, version
+    public Object[] person(long id) {
+        String firstName = pick(FIRST_NAMES);
+        return new Object[] { id, address(), firstName, SearchText.normalize(firstName),
+                random.nextBoolean() ? "Male" : "Female", pick(LAST_NAMES), random.nextInt(10) > 0, 0L };
+    }
+
+    // id, author, launch_date, price, title, title_search, version
+    public Object[] book(long id) {
+        String author = pick(FIRST_NAMES) + " " + pick(LAST_NAMES);
+        LocalDate launchDate = FIRST_LAUNCH.plusDays(random.nextInt(12000));
+        BigDecimal price = BigDecimal.valueOf(500 + random.nextInt(19500), 2);
+        String title = pick(TITLE_WORDS) + " " + pick(TITLE_WORDS) + " " + pick(TITLE_WORDS);
+        return new Object[] { id, author, launchDate, price, title, SearchText.normalize(title), 0L };
+    }
+
+    // user_name, full_name, password, account_non_expired, account_non_locked, credentials_non_expired, enabled
+    public Object[] user(String userName, String encodedPassword) {
+        return new Object[] { userName, pick(FIRST_NAMES) + " " + pick(LAST_NAMES), encodedPassword,
+                true, true, true, true };
+    }
+
+    private String address() {
+        return (1 + random.nextInt(99999)) + " " + pick(STREETS);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
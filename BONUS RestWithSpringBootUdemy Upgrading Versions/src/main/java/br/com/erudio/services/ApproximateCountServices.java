@@ -0,0 +1,69 @@
+package br.com.erudio.services;
+
+import br.com.erudio.repository.BookRepository;
+import br.com.erudio.repository.PersonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Totais aproximados para as listagens sem COUNT, recalculados em segundo plano.
+// No MySQL vêm das estatísticas do InnoDB (information_schema.TABLES.TABLE_ROWS), sem varrer a tabela;
+// em bancos sem essa estimativa (H2 nos testes) cai no COUNT exato.
+@Service
+public class ApproximateCountServices {
+
+    public static final String APPROXIMATE_TOTAL_HEADER = "X-Approximate-Total-Count";
+
+    private static final Logger logger = LoggerFactory.getLogger(ApproximateCountServices.class);
+
+    private static final String ESTIMATE = "SELECT TABLE_ROWS FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private volatile Long personCount;
+    private volatile Long bookCount;
+
+    @Scheduled(fixedDelayString = "${paging.approximate-count.refresh-interval:60000}")
+    public void refresh() {
+        try {
+            Long persons = estimate("person");
+            personCount = persons != null ? persons : personRepository.count();
+            Long books = estimate("books");
+            bookCount = books != null ? books : bookRepository.count();
+        } catch (Exception e) {
+            logger.warn("Could not refresh the approximate counts, keeping the previous values", e);
+        }
+    }
+
+    private Long estimate(String table) {
+        try {
+            List<Long> rows = jdbcTemplate.queryForList(ESTIMATE, Long.class, table);
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (DataAccessException e) {
+            logger.debug("No row estimate for table {}, using an exact count", table, e);
+            return null;
+        }
+    }
+
+    public Long getPersonCount() {
+        return personCount;
+    }
+
+    public Long getBookCount() {
+        return bookCount;
+    }
+}
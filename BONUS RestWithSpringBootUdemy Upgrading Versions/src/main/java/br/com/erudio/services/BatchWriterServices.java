@@ -0,0 +1,100 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.BatchResultVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Grava listas grandes em blocos, uma transação por bloco, para o Hibernate agrupar os INSERT/UPDATE em lotes JDBC
+@Service
+public class BatchWriterServices {
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${batch.chunk-size:500}")
+    private int chunkSize;
+
+    // O chunkWriter deve devolver um resultado por item, na mesma ordem recebida
+    public <T> BatchResultVO write(List<T> items, Function<List<T>, List<BatchItemResultVO>> chunkWriter) {
+        List<BatchItemResultVO> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            try {
+                results.addAll(writeInTransaction(chunk, chunkWriter));
+            } catch (RuntimeException e) {
+                // Um item inválido desfaz o bloco inteiro: refaz item a item para isolar a falha
+                for (T item : chunk) {
+                    try {
+                        results.addAll(writeInTransaction(Collections.singletonList(item), chunkWriter));
+                    } catch (RuntimeException itemError) {
+                        results.add(BatchItemResultVO.failed(NestedExceptionUtils.getMostSpecificCause(itemError).getMessage()));
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < results.size(); i++) {
+            results.get(i).setIndex(i);
+        }
+        return new BatchResultVO(results);
+    }
+
+    // Para UPDATE/DELETE em massa: um comando por bloco, cada bloco na sua transação; devolve o total de linhas afetadas
+    public <T> int update(List<T> items, ToIntFunction<List<T>> chunkUpdate) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int affected = 0;
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            affected += transactionTemplate.execute(status -> chunkUpdate.applyAsInt(chunk));
+        }
+        return affected;
+    }
+
+    // Para UPDATE em massa por filtro: lê e atualiza um bloco de ids por vez, em ordem de id e na mesma transação,
+    // sem trazer todos os ids para a memória. nextIds recebe o último id processado e o tamanho do bloco
+    public int updateMatching(BiFunction<Long, Integer, List<Long>> nextIds, ToIntFunction<List<Long>> chunkUpdate) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int[] affected = { 0 };
+        Long lastId = 0L;
+        while (true) {
+            Long after = lastId;
+            List<Long> chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = nextIds.apply(after, chunkSize);
+                if (!ids.isEmpty()) {
+                    affected[0] += chunkUpdate.applyAsInt(ids);
+                }
+                return ids;
+            });
+            if (chunk.size() < chunkSize) {
+                return affected[0];
+            }
+            lastId = chunk.get(chunk.size() - 1);
+        }
+    }
+
+    private <T> List<BatchItemResultVO> writeInTransaction(List<T> chunk, Function<List<T>, List<BatchItemResultVO>> chunkWriter) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<BatchItemResultVO> results = chunkWriter.apply(chunk);
+            entityManager.flush();
+            // Libera as entidades do bloco para o contexto de persistência não crescer com a lista inteira
+            entityManager.clear();
+            return results;
+        });
+    }
+}
@@ -1,16 +1,41 @@
 package br.com.erudio.services;
 
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.converter.DozerConverter;
+import br.com.erudio.data.vo.v1.BatchDeleteResultVO;
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.BatchResultVO;
 import br.com.erudio.data.model.Book;
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.datasource.ReplicaRead;
+import br.com.erudio.exception.InvalidRequestException;
+import br.com.erudio.exception.PreconditionFailedException;
 import br.com.erudio.exception.ResourceNotFoundException;
 import br.com.erudio.repository.BookRepository;
+import br.com.erudio.search.SearchMode;
+import br.com.erudio.search.SearchText;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import br.com.erudio.pagination.KeysetCursor;
+import br.com.erudio.pagination.KeysetSlice;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class BookServices {
@@ -18,48 +43,210 @@ public class BookServices {
     @Autowired
     BookRepository repository;
 
+    @Autowired
+    SearchIndexServices searchIndex;
+
+    @Autowired
+    BatchWriterServices batchWriter;
+
+    @Autowired
+    CacheManager cacheManager;
+
     public BookVO create(BookVO book) {
         Book entity = DozerConverter.parseObject(book, Book.class);
         BookVO vo = DozerConverter.parseObject(repository.save(entity), BookVO.class);
         return vo;
     }
 
-    public Page<BookVO> findBookByTitle(String title, Pageable pageable) {
-        var page = repository.findBookByTitle(title, pageable);
-        return page.map(this::convertToBookVO);
+    public BatchResultVO createAll(List<BookVO> books) {
+        return batchWriter.write(books, chunk -> {
+            List<BatchItemResultVO> results = new ArrayList<>(chunk.size());
+            for (BookVO vo : chunk) {
+                Book entity = DozerConverter.parseObject(vo, Book.class);
+                // Ignora id e versão enviados: com qualquer um deles preenchido o save faria merge (SELECT) em vez de persist
+                entity.setId(0);
+                entity.setVersion(null);
+                results.add(BatchItemResultVO.created(repository.save(entity).getId()));
+            }
+            return results;
+        });
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<BookVO> findBookByTitle(String title, SearchMode mode, Pageable pageable) {
+        if (mode == SearchMode.CONTAINS && searchIndex.canSearch(title)) {
+            return findByIndex(searchIndex.findBookIdsByTitle(title, pageable));
+        }
+        return repository.findBookByTitle(SearchText.likePattern(title, mode), searchOrder(mode, pageable));
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<BookVO> findBookByTitleWithoutCount(String title, SearchMode mode, Pageable pageable) {
+        if (mode == SearchMode.CONTAINS && searchIndex.canSearch(title)) {
+            return findBookByTitle(title, mode, pageable);
+        }
+        return repository.findBookSliceByTitle(SearchText.likePattern(title, mode), searchOrder(mode, pageable));
+    }
+
+    // No modo prefixo ordena pela própria coluna indexada: o range scan já devolve as linhas na ordem da página
+    private Pageable searchOrder(SearchMode mode, Pageable pageable) {
+        if (mode != SearchMode.PREFIX) {
+            return pageable;
+        }
+        Sort.Order order = pageable.getSort().getOrderFor("title");
+        Sort.Direction direction = order != null ? order.getDirection() : Sort.Direction.ASC;
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(direction, "titleSearch", "id"));
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Page<BookVO> findAll(Pageable pageable) {
-        var page = repository.findAll(pageable);
-        return page.map(this::convertToBookVO);
+        return repository.findAllVOs(pageable);
     }
 
-    private BookVO convertToBookVO(Book entity) {
-        return DozerConverter.parseObject(entity, BookVO.class);
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<BookVO> findAllWithoutCount(Pageable pageable) {
+        return repository.findAllBy(pageable);
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public KeysetSlice<BookVO> findAllByCursor(KeysetCursor cursor, int limit, Sort.Direction direction) {
+        boolean backward = cursor != null && cursor.isBackward();
+        // Voltar uma página é buscar na direção oposta e inverter o resultado
+        Sort.Direction seekDirection = backward ? reverse(direction) : direction;
+        Pageable pageable = PageRequest.of(0, limit, Sort.by(seekDirection, "title", "id"));
+
+        Slice<BookVO> slice;
+        if (cursor == null) {
+            slice = repository.findAllBy(pageable);
+        } else if (seekDirection == Sort.Direction.ASC) {
+            slice = cursor.getValue() == null
+                    ? repository.findBooksAfterNullTitle(cursor.getId(), pageable)
+                    : repository.findBooksAfter(cursor.getValue(), cursor.getId(), pageable);
+        } else {
+            slice = cursor.getValue() == null
+                    ? repository.findBooksBeforeNullTitle(cursor.getId(), pageable)
+                    : repository.findBooksBefore(cursor.getValue(), cursor.getId(), pageable);
+        }
+
+        List<BookVO> content = new ArrayList<>(slice.getContent());
+        if (backward) {
+            Collections.reverse(content);
+            return new KeysetSlice<>(content, true, slice.hasNext());
+        }
+        return new KeysetSlice<>(content, slice.hasNext(), cursor != null);
     }
 
+    private Sort.Direction reverse(Sort.Direction direction) {
+        return direction.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    // Carrega só a página de ids resolvida pelo índice, preservando a ordem do índice
+    private Slice<BookVO> findByIndex(Slice<Long> ids) {
+        Map<Long, BookVO> vos = new HashMap<>();
+        repository.findAllVOsById(ids.getContent()).forEach(vo -> vos.put(vo.getKey(), vo));
+        List<BookVO> content = new ArrayList<>();
+        for (Long id : ids.getContent()) {
+            BookVO vo = vos.get(id);
+            if (vo != null) {
+                content.add(vo);
+            }
+        }
+        if (ids instanceof Page) {
+            return new PageImpl<>(content, ids.getPageable(), ((Page<Long>) ids).getTotalElements());
+        }
+        return new SliceImpl<>(content, ids.getPageable(), ids.hasNext());
+    }
+
+    // O cache guarda o VO, não a entidade gerenciada; quem chama sempre recebe uma cópia para acrescentar os links
+    @Transactional(readOnly = true)
     public BookVO findById(Long id) {
-        Book entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
-        return DozerConverter.parseObject(entity, BookVO.class);
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS);
+        BookVO cached = cache.get(id, BookVO.class);
+        if (cached == null) {
+            Book entity = repository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
+            cached = DozerConverter.parseObject(entity, BookVO.class);
+            cache.put(id, cached);
+        }
+        return new BookVO(cached);
     }
 
-    public BookVO update(BookVO book) {
+    // Uma transação de escrita: o UPDATE condicional e a releitura vão juntos para o primário
+    @Transactional
+    public BookVO update(BookVO book, Long expectedVersion) {
+        // Sem leitura prévia: o UPDATE condicional decide sozinho entre sucesso, 404 e 412
+        int updated = repository.updateBook(book.getKey(), book.getAuthor(), book.getLaunchDate(),
+                book.getPrice(), book.getTitle(), SearchText.normalize(book.getTitle()), expectedVersion);
+        if (updated == 0) {
+            if (book.getKey() == null || !repository.existsById(book.getKey())) {
+                throw new ResourceNotFoundException("No records found for this ID");
+            }
+            throw new PreconditionFailedException("The book was modified by another request");
+        }
+        // UPDATE em JPQL não dispara os listeners da entidade
+        searchIndex.indexBook(book.getKey(), book.getTitle());
+
+        // Relida na mesma transação, depois do UPDATE: vem com a versão nova e não passa pelo cache
         Book entity = repository.findById(book.getKey())
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
-        entity.setAuthor(book.getAuthor());
-        entity.setLaunchDate(book.getLaunchDate());
-        entity.setPrice(book.getPrice());
-        entity.setTitle(book.getTitle());
+        return DozerConverter.parseObject(entity, BookVO.class);
+    }
 
-        BookVO vo = DozerConverter.parseObject(repository.save(entity), BookVO.class);
-        return vo;
+    public BatchResultVO updateAll(List<BookVO> books) {
+        return batchWriter.write(books, chunk -> {
+            List<Long> ids = new ArrayList<>(chunk.size());
+            chunk.forEach(vo -> ids.add(vo.getKey()));
+            ids.removeIf(Objects::isNull);
+
+            // Um único SELECT ... IN por bloco; os UPDATE saem em lote no flush
+            Map<Long, Book> entities = new HashMap<>();
+            repository.findAllById(ids).forEach(entity -> entities.put(entity.getId(), entity));
+
+            List<BatchItemResultVO> results = new ArrayList<>(chunk.size());
+            for (BookVO vo : chunk) {
+                Book entity = vo.getKey() == null ? null : entities.get(vo.getKey());
+                if (entity == null) {
+                    results.add(BatchItemResultVO.notFound(vo.getKey()));
+                    continue;
+                }
+                entity.setAuthor(vo.getAuthor());
+                entity.setLaunchDate(vo.getLaunchDate());
+                entity.setPrice(vo.getPrice());
+                entity.setTitle(vo.getTitle());
+                results.add(BatchItemResultVO.updated(entity.getId()));
+                cacheManager.getCache(CacheConfig.BOOKS).evict(entity.getId());
+            }
+            return results;
+        });
     }
 
     public void delete(Long id) {
-        Book entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
-        repository.delete(entity);
+        if (repository.deleteBookById(id) == 0) {
+            throw new ResourceNotFoundException("No records found for this ID");
+        }
+        // DELETE em JPQL não dispara os listeners da entidade
+        searchIndex.removeBook(id);
+    }
+
+    public BatchDeleteResultVO deleteAll(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("Inform the list of ids to delete");
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(Objects::isNull);
+
+        // Um DELETE ... WHERE id IN por bloco
+        int deleted = batchWriter.update(distinctIds, chunk -> {
+            chunk.forEach(cacheManager.getCache(CacheConfig.BOOKS)::evict);
+            return repository.deleteBooksById(chunk);
+        });
+        distinctIds.forEach(searchIndex::removeBook);
+        return new BatchDeleteResultVO(distinctIds.size(), deleted);
     }
 
 }
@@ -0,0 +1,113 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.datasource.ReplicaRead;
+import br.com.erudio.export.ExportFormat;
+import br.com.erudio.export.FormatMappers;
+import br.com.erudio.repository.BookRepository;
+import br.com.erudio.repository.PersonRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Service
+public class ExportServices {
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${export.flush-every:1000}")
+    int flushEvery;
+
+    // Vale só para as respostas de exportação; o resto continua no timeout assíncrono padrão
+    @Value("${export.timeout:3600000}")
+    long timeout;
+
+    // Writers do Jackson são imutáveis e thread-safe: um por formato e tipo
+    private final Map<String, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    // Falha na subida em vez de um ArithmeticException na primeira exportação
+    @PostConstruct
+    public void init() {
+        if (flushEvery <= 0) {
+            throw new IllegalArgumentException("export.flush-every must be positive, got " + flushEvery);
+        }
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("export.timeout must be positive, got " + timeout);
+        }
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    // Transação só de leitura aberta enquanto o Stream é consumido; as linhas viram VOs direto do ResultSet,
+    // sem passar pelo contexto de persistência, então o heap fica estável qualquer que seja o volume
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public long exportPersons(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<PersonVO> rows = personRepository.streamAllVOs()) {
+            return write(format, PersonVO.class, rows, out);
+        }
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public long exportBooks(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookVO> rows = bookRepository.streamAllVOs()) {
+            return write(format, BookVO.class, rows, out);
+        }
+    }
+
+    private <T> long write(ExportFormat format, Class<T> type, Stream<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        ObjectWriter writer = writerFor(format, type);
+        // NDJSON: um objeto por linha; CSV e YAML: uma única sequência com cabeçalho / itens "- "
+        try (SequenceWriter sequence = format == ExportFormat.NDJSON
+                ? writer.withRootValueSeparator("\n").writeValues(out)
+                : writer.writeValuesAsArray(out)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sequence.write(iterator.next());
+                if (++count % flushEvery == 0) {
+                    sequence.flush();
+                }
+            }
+        }
+        if (format == ExportFormat.NDJSON && count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private ObjectWriter writerFor(ExportFormat format, Class<?> type) {
+        return writers.computeIfAbsent(format + ":" + type.getName(), key -> {
+            ObjectMapper mapper = FormatMappers.create(format, objectMapper);
+            if (mapper instanceof CsvMapper) {
+                return mapper.writer(FormatMappers.csvSchema((CsvMapper) mapper, type)).forType(type);
+            }
+            return mapper.writerFor(type);
+        });
+    }
+}
@@ -48,6 +48,26 @@ public class FileStorageServices {
         }
     }
 
+    // Arquivos de importação ficam fora da pasta de download e são apagados ao fim do job
+    public Path storeImportFile(MultipartFile file, String jobId) {
+        try {
+            Path importLocation = Files.createDirectories(this.fileStorageLocation.resolve("imports"));
+            Path targetLocation = importLocation.resolve(jobId);
+            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            return targetLocation;
+        } catch (Exception e) {
+            throw new FileStorageException("Could not store import file " + file.getOriginalFilename() + ". Please try again!", e);
+        }
+    }
+
+    public void deleteImportFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (Exception e) {
+            throw new FileStorageException("Could not delete import file " + file, e);
+        }
+    }
+
     public Resource loadFileAsResource(String fileName) {
         try {
             Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
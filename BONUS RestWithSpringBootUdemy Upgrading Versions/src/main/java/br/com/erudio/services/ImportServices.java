@@ -0,0 +1,282 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.ImportJobVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exception.InvalidRequestException;
+import br.com.erudio.exception.ResourceNotFoundException;
+import br.com.erudio.exception.ServiceUnavailableException;
+import br.com.erudio.export.ExportFormat;
+import br.com.erudio.export.FormatMappers;
+import br.com.erudio.importing.ImportJob;
+import br.com.erudio.importing.ImportRows;
+import br.com.erudio.seed.MultiRowInsert;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Importação de arquivos grandes em segundo plano: o arquivo é lido como stream, linha a linha,
+// e as linhas válidas são gravadas via JDBC em blocos, um bloco por transação
+@Service
+public class ImportServices implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportServices.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 200;
+
+    @Autowired
+    FileStorageServices fileStorageServices;
+
+    @Autowired
+    SequenceServices sequenceServices;
+
+    @Autowired
+    SearchIndexServices searchIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.threads:2}")
+    private int threads;
+
+    @Value("${import.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${import.max-errors:100}")
+    private int maxErrors;
+
+    @Value("${import.job-retention-minutes:1440}")
+    private long jobRetentionMinutes;
+
+    private final Map<String, Target<?>> targets = new ConcurrentHashMap<>();
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        targets.put("person", new Target<>(PersonVO.class, "person", ImportRows.PERSON_COLUMNS,
+                ImportRows::validatePerson, ImportRows::person, (id, p) -> searchIndex.indexPerson(id, p.getFirstName().trim())));
+        targets.put("book", new Target<>(BookVO.class, "books", ImportRows.BOOK_COLUMNS,
+                ImportRows::validateBook, ImportRows::book, (id, b) -> searchIndex.indexBook(id, b.getTitle().trim())));
+        // Poucas threads e fila limitada: importações concorrentes disputam o mesmo banco
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("import-"));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public ImportJobVO submit(String targetName, MultipartFile file, String format) {
+        Target<?> target = targets.get(targetName);
+        if (target == null) {
+            throw new InvalidRequestException("Invalid import target '" + targetName + "', use person or book");
+        }
+        if (file.isEmpty()) {
+            throw new InvalidRequestException("The uploaded file is empty");
+        }
+        ExportFormat exportFormat = format == null || format.isEmpty()
+                ? ExportFormat.fromFileName(file.getOriginalFilename())
+                : ExportFormat.from(format);
+        removeExpiredJobs();
+
+        String id = UUID.randomUUID().toString();
+        // O MultipartFile some ao fim da requisição: o job trabalha sobre uma cópia em disco
+        Path stored = fileStorageServices.storeImportFile(file, id);
+        ImportJob job = new ImportJob(id, targetName, exportFormat, file.getOriginalFilename(), stored, file.getSize(), maxErrors);
+        jobs.put(id, job);
+        try {
+            executor.execute(() -> run(job, target));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            fileStorageServices.deleteImportFile(stored);
+            throw new ServiceUnavailableException("Too many imports in progress, please try again later");
+        }
+        return job.toVO();
+    }
+
+    public ImportJobVO findJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("No import job found for this ID");
+        }
+        return job.toVO();
+    }
+
+    private <T> void run(ImportJob job, Target<T> target) {
+        job.start();
+        long start = System.nanoTime();
+        try (InputStream in = job.track(new BufferedInputStream(Files.newInputStream(job.getFile())));
+             MappingIterator<T> rows = readerFor(job.getFormat(), target.type).readValues(in)) {
+            List<T> chunk = new ArrayList<>(chunkSize);
+            List<Long> rowNumbers = new ArrayList<>(chunkSize);
+            long row = 0;
+            while (rows.hasNextValue()) {
+                row++;
+                job.rowRead();
+                T value;
+                try {
+                    value = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // Erro de sintaxe: o parser perde a posição e não há como seguir para a próxima linha
+                    throw e;
+                } catch (JsonMappingException e) {
+                    job.rejected(row, message(e.getOriginalMessage()));
+                    continue;
+                }
+                String error = target.validator.apply(value);
+                if (error != null) {
+                    job.rejected(row, error);
+                    continue;
+                }
+                chunk.add(value);
+                rowNumbers.add(row);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(job, target, chunk, rowNumbers);
+                    chunk.clear();
+                    rowNumbers.clear();
+                }
+            }
+            writeChunk(job, target, chunk, rowNumbers);
+            job.finish(ImportJob.Status.COMPLETED);
+        } catch (Exception e) {
+            job.error(message(NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            job.finish(ImportJob.Status.FAILED);
+            logger.warn("Import job {} failed", job.getId(), e);
+        } finally {
+            fileStorageServices.deleteImportFile(job.getFile());
+        }
+        ImportJobVO result = job.toVO();
+        logger.info("Import job {} {}: {} rows imported, {} rejected in {} ms", job.getId(), result.getStatus(),
+                result.getRowsImported(), result.getRowsRejected(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private <T> void writeChunk(ImportJob job, Target<T> target, List<T> chunk, List<Long> rowNumbers) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        long firstId = sequenceServices.reserve(target.table, chunk.size());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.execute(status -> {
+                MultiRowInsert insert = new MultiRowInsert(jdbcTemplate, target.table, chunk.size(), target.columns);
+                for (int i = 0; i < chunk.size(); i++) {
+                    insert.add(target.rowMapper.apply(firstId + i, chunk.get(i)));
+                }
+                insert.flush();
+                return null;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                target.indexer.accept(firstId + i, chunk.get(i));
+            }
+            job.imported(chunk.size());
+        } catch (DataAccessException e) {
+            // Uma linha recusada pelo banco desfaz o bloco inteiro: refaz linha a linha para isolar a falha
+            for (int i = 0; i < chunk.size(); i++) {
+                long id = firstId + i;
+                T value = chunk.get(i);
+                try {
+                    transactionTemplate.execute(status -> {
+                        MultiRowInsert insert = new MultiRowInsert(jdbcTemplate, target.table, 1, target.columns);
+                        insert.add(target.rowMapper.apply(id, value));
+                        return null;
+                    });
+                    target.indexer.accept(id, value);
+                    job.imported(1);
+                } catch (DataAccessException rowError) {
+                    job.rejected(rowNumbers.get(i), message(NestedExceptionUtils.getMostSpecificCause(rowError).getMessage()));
+                }
+            }
+        }
+    }
+
+    private ObjectReader readerFor(ExportFormat format, Class<?> type) {
+        return readers.computeIfAbsent(format + ":" + type.getName(), key -> {
+            ObjectMapper mapper = FormatMappers.create(format, objectMapper);
+            if (mapper instanceof CsvMapper) {
+                // As colunas vêm do cabeçalho do arquivo, em qualquer ordem
+                return mapper.readerFor(type).with(CsvSchema.emptySchema().withHeader());
+            }
+            return mapper.readerFor(type);
+        });
+    }
+
+    private void removeExpiredJobs() {
+        long limit = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().getTime() < limit);
+    }
+
+    private String message(String message) {
+        if (message == null) {
+            return "invalid row";
+        }
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) + "..." : message;
+    }
+
+    // O que muda entre pessoas e livros: tipo lido do arquivo, tabela/sequência, colunas e como indexar
+    private static class Target<T> {
+        final Class<T> type;
+        final String table;
+        final String[] columns;
+        final Function<T, String> validator;
+        final BiFunction<Long, T, Object[]> rowMapper;
+        final BiConsumer<Long, T> indexer;
+
+        Target(Class<T> type, String table, String[] columns, Function<T, String> validator,
+               BiFunction<Long, T, Object[]> rowMapper, BiConsumer<Long, T> indexer) {
+            this.type = type;
+            this.table = table;
+            this.columns = columns;
+            this.validator = validator;
+            this.rowMapper = rowMapper;
+            this.indexer = indexer;
+        }
+    }
+}
@@ -1,17 +1,44 @@
 package br.com.erudio.services;
 
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.converter.DozerConverter;
+import br.com.erudio.data.vo.v1.BatchDeleteResultVO;
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.BatchResultVO;
+import br.com.erudio.data.vo.v1.PersonStatusUpdateResultVO;
+import br.com.erudio.data.vo.v1.PersonStatusUpdateVO;
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.datasource.ReplicaRead;
+import br.com.erudio.exception.InvalidRequestException;
+import br.com.erudio.exception.PreconditionFailedException;
 import br.com.erudio.exception.ResourceNotFoundException;
 import br.com.erudio.data.model.Person;
 import br.com.erudio.repository.PersonRepository;
+import br.com.erudio.search.SearchMode;
+import br.com.erudio.search.SearchText;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import br.com.erudio.pagination.KeysetCursor;
+import br.com.erudio.pagination.KeysetSlice;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
 
 @Service
 public class PersonServices {
@@ -19,58 +46,252 @@ public class PersonServices {
     @Autowired
     PersonRepository repository;
 
+    @Autowired
+    SearchIndexServices searchIndex;
+
+    @Autowired
+    BatchWriterServices batchWriter;
+
+    @Autowired
+    CacheManager cacheManager;
+
     public PersonVO create(PersonVO person) {
         Person entity = DozerConverter.parseObject(person, Person.class);
         PersonVO vo = DozerConverter.parseObject(repository.save(entity), PersonVO.class);
         return vo;
     }
 
-    public Page<PersonVO> findPersonByName(String firstName, Pageable pageable) {
-        var page = repository.findPersonByName(firstName, pageable);
-        return page.map(this::convertToPersonVO);
+    public BatchResultVO createAll(List<PersonVO> persons) {
+        return batchWriter.write(persons, chunk -> {
+            List<BatchItemResultVO> results = new ArrayList<>(chunk.size());
+            for (PersonVO vo : chunk) {
+                Person entity = DozerConverter.parseObject(vo, Person.class);
+                // Ignora id e versão enviados: com qualquer um deles preenchido o save faria merge (SELECT) em vez de persist
+                entity.setId(null);
+                entity.setVersion(null);
+                results.add(BatchItemResultVO.created(repository.save(entity).getId()));
+            }
+            return results;
+        });
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<PersonVO> findPersonByName(String firstName, SearchMode mode, Pageable pageable) {
+        if (mode == SearchMode.CONTAINS && searchIndex.canSearch(firstName)) {
+            return findByIndex(searchIndex.findPersonIdsByName(firstName, pageable));
+        }
+        return repository.findPersonByName(SearchText.likePattern(firstName, mode), searchOrder(mode, pageable));
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<PersonVO> findPersonByNameWithoutCount(String firstName, SearchMode mode, Pageable pageable) {
+        if (mode == SearchMode.CONTAINS && searchIndex.canSearch(firstName)) {
+            return findPersonByName(firstName, mode, pageable);
+        }
+        return repository.findPersonSliceByName(SearchText.likePattern(firstName, mode), searchOrder(mode, pageable));
+    }
+
+    // No modo prefixo ordena pela própria coluna indexada: o range scan já devolve as linhas na ordem da página
+    private Pageable searchOrder(SearchMode mode, Pageable pageable) {
+        if (mode != SearchMode.PREFIX) {
+            return pageable;
+        }
+        Sort.Order order = pageable.getSort().getOrderFor("firstName");
+        Sort.Direction direction = order != null ? order.getDirection() : Sort.Direction.ASC;
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(direction, "firstNameSearch", "id"));
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Page<PersonVO> findAll(Pageable pageable) {
-        var page = repository.findAll(pageable);
-        return page.map(this::convertToPersonVO);
+        return repository.findAllVOs(pageable);
     }
 
-    private PersonVO convertToPersonVO(Person entity) {
-        return DozerConverter.parseObject(entity, PersonVO.class);
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<PersonVO> findAllWithoutCount(Pageable pageable) {
+        return repository.findAllBy(pageable);
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public KeysetSlice<PersonVO> findAllByCursor(KeysetCursor cursor, int limit, Sort.Direction direction) {
+        boolean backward = cursor != null && cursor.isBackward();
+        // Voltar uma página é buscar na direção oposta e inverter o resultado
+        Sort.Direction seekDirection = backward ? reverse(direction) : direction;
+        Pageable pageable = PageRequest.of(0, limit, Sort.by(seekDirection, "firstName", "id"));
+
+        Slice<PersonVO> slice;
+        if (cursor == null) {
+            slice = repository.findAllBy(pageable);
+        } else if (seekDirection == Sort.Direction.ASC) {
+            slice = repository.findPersonsAfter(cursor.getValue(), cursor.getId(), pageable);
+        } else {
+            slice = repository.findPersonsBefore(cursor.getValue(), cursor.getId(), pageable);
+        }
+
+        List<PersonVO> content = new ArrayList<>(slice.getContent());
+        if (backward) {
+            Collections.reverse(content);
+            return new KeysetSlice<>(content, true, slice.hasNext());
+        }
+        return new KeysetSlice<>(content, slice.hasNext(), cursor != null);
     }
 
+    private Sort.Direction reverse(Sort.Direction direction) {
+        return direction.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    // Carrega só a página de ids resolvida pelo índice, preservando a ordem do índice
+    private Slice<PersonVO> findByIndex(Slice<Long> ids) {
+        Map<Long, PersonVO> vos = new HashMap<>();
+        repository.findAllVOsById(ids.getContent()).forEach(vo -> vos.put(vo.getKey(), vo));
+        List<PersonVO> content = new ArrayList<>();
+        for (Long id : ids.getContent()) {
+            PersonVO vo = vos.get(id);
+            if (vo != null) {
+                content.add(vo);
+            }
+        }
+        if (ids instanceof Page) {
+            return new PageImpl<>(content, ids.getPageable(), ((Page<Long>) ids).getTotalElements());
+        }
+        return new SliceImpl<>(content, ids.getPageable(), ids.hasNext());
+    }
+
+    // O cache guarda o VO, não a entidade gerenciada; quem chama sempre recebe uma cópia para acrescentar os links
+    @Transactional(readOnly = true)
     public PersonVO findById(Long id) {
-        Person entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
-        return DozerConverter.parseObject(entity, PersonVO.class);
+        Cache cache = cacheManager.getCache(CacheConfig.PERSONS);
+        PersonVO cached = cache.get(id, PersonVO.class);
+        if (cached == null) {
+            Person entity = repository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
+            cached = DozerConverter.parseObject(entity, PersonVO.class);
+            cache.put(id, cached);
+        }
+        return new PersonVO(cached);
     }
 
-    public PersonVO update(PersonVO person) {
+    // Uma transação de escrita: o UPDATE condicional e a releitura vão juntos para o primário
+    @Transactional
+    public PersonVO update(PersonVO person, Long expectedVersion) {
+        // Sem leitura prévia: o UPDATE condicional decide sozinho entre sucesso, 404 e 412
+        int updated = repository.updatePerson(person.getKey(), person.getFirstName(),
+                SearchText.normalize(person.getFirstName()), person.getLastName(),
+                person.getAddress(), person.getGender(), expectedVersion);
+        if (updated == 0) {
+            if (person.getKey() == null || !repository.existsById(person.getKey())) {
+                throw new ResourceNotFoundException("No records found for this ID");
+            }
+            throw new PreconditionFailedException("The person was modified by another request");
+        }
+        // UPDATE em JPQL não dispara os listeners da entidade
+        searchIndex.indexPerson(person.getKey(), person.getFirstName());
+
+        // Relida na mesma transação, depois do UPDATE: vem com a versão nova e não passa pelo cache
         Person entity = repository.findById(person.getKey())
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
-        entity.setFirstName(person.getFirstName());
-        entity.setLastName(person.getLastName());
-        entity.setAddress(person.getAddress());
-        entity.setGender(person.getGender());
-
-        PersonVO vo = DozerConverter.parseObject(repository.save(entity), PersonVO.class);
-        return vo;
+        return DozerConverter.parseObject(entity, PersonVO.class);
     }
 
     // @Transactional Garantir a consistência das informações (ACID)
     @Transactional
     public PersonVO disablePerson(Long id) {
-        repository.disablePersons(id);
-
+        if (repository.disablePersons(id) == 0) {
+            throw new ResourceNotFoundException("No records found for this ID");
+        }
+        // Lida só depois do UPDATE, na mesma transação: a versão devolvida já é a nova, a que o próximo If-Match usa
         Person entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
         return DozerConverter.parseObject(entity, PersonVO.class);
     }
 
+    public PersonStatusUpdateResultVO updateEnabled(PersonStatusUpdateVO request, boolean returnUpdated) {
+        if (request.getEnabled() == null) {
+            throw new InvalidRequestException("The enabled flag is required");
+        }
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byName = request.getFirstName() != null && !request.getFirstName().isBlank();
+        if (byIds == byName) {
+            throw new InvalidRequestException("Inform either a list of ids or a firstName filter");
+        }
+
+        // Um UPDATE ... WHERE id IN por bloco, sem carregar as entidades; os itens são lidos na mesma transação
+        List<PersonVO> items = returnUpdated ? new ArrayList<>() : null;
+        ToIntFunction<List<Long>> chunkUpdate = chunk -> {
+            chunk.forEach(cacheManager.getCache(CacheConfig.PERSONS)::evict);
+            int updated = repository.updateEnabled(chunk, request.getEnabled());
+            if (items != null) {
+                items.addAll(repository.findAllVOsById(chunk));
+            }
+            return updated;
+        };
+
+        int affected;
+        if (byIds) {
+            affected = batchWriter.update(new ArrayList<>(new LinkedHashSet<>(request.getIds())), chunkUpdate);
+        } else {
+            // Por nome os ids vêm do banco um bloco por vez, sem carregar todos na memória
+            String pattern = SearchText.likePattern(request.getFirstName(), SearchMode.CONTAINS);
+            affected = batchWriter.updateMatching(
+                    (lastId, size) -> repository.findIdsByNameAfter(pattern, lastId, PageRequest.of(0, size)), chunkUpdate);
+        }
+        return new PersonStatusUpdateResultVO(affected, items);
+    }
+
+    public BatchResultVO updateAll(List<PersonVO> persons) {
+        return batchWriter.write(persons, chunk -> {
+            List<Long> ids = new ArrayList<>(chunk.size());
+            chunk.forEach(vo -> ids.add(vo.getKey()));
+            ids.removeIf(Objects::isNull);
+
+            // Um único SELECT ... IN por bloco; os UPDATE saem em lote no flush
+            Map<Long, Person> entities = new HashMap<>();
+            repository.findAllById(ids).forEach(entity -> entities.put(entity.getId(), entity));
+
+            List<BatchItemResultVO> results = new ArrayList<>(chunk.size());
+            for (PersonVO vo : chunk) {
+                Person entity = vo.getKey() == null ? null : entities.get(vo.getKey());
+                if (entity == null) {
+                    results.add(BatchItemResultVO.notFound(vo.getKey()));
+                    continue;
+                }
+                entity.setFirstName(vo.getFirstName());
+                entity.setLastName(vo.getLastName());
+                entity.setAddress(vo.getAddress());
+                entity.setGender(vo.getGender());
+                results.add(BatchItemResultVO.updated(entity.getId()));
+                cacheManager.getCache(CacheConfig.PERSONS).evict(entity.getId());
+            }
+            return results;
+        });
+    }
+
     public void delete(Long id) {
-        Person entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
-        repository.delete(entity);
+        if (repository.deletePersonById(id) == 0) {
+            throw new ResourceNotFoundException("No records found for this ID");
+        }
+        // DELETE em JPQL não dispara os listeners da entidade
+        searchIndex.removePerson(id);
+    }
+
+    public BatchDeleteResultVO deleteAll(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("Inform the list of ids to delete");
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(Objects::isNull);
+
+        // Um DELETE ... WHERE id IN por bloco
+        int deleted = batchWriter.update(distinctIds, chunk -> {
+            chunk.forEach(cacheManager.getCache(CacheConfig.PERSONS)::evict);
+            return repository.deletePersonsById(chunk);
+        });
+        distinctIds.forEach(searchIndex::removePerson);
+        return new BatchDeleteResultVO(distinctIds.size(), deleted);
     }
 
 }
@@ -0,0 +1,222 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.model.Person;
+import br.com.erudio.repository.BookRepository;
+import br.com.erudio.repository.PersonRepository;
+import br.com.erudio.search.NGramIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class SearchIndexServices {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexServices.class);
+
+    private static final int BUILD_CHUNK_SIZE = 5000;
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.count-limit:10000}")
+    private int countLimit;
+
+    @Value("${search.index.max-rows:1000000}")
+    private long maxRows;
+
+    private final NGramIndex personNames = new NGramIndex();
+    private final NGramIndex bookTitles = new NGramIndex();
+
+    private volatile boolean ready;
+    // Passou de max-rows: o índice é descartado e as buscas voltam de vez para o banco
+    private volatile boolean overCapacity;
+
+    // Ids apagados enquanto a carga inicial roda; protegidos pelo monitor do serviço
+    private boolean building;
+    private final Set<Long> removedPersonsDuringBuild = new HashSet<>();
+    private final Set<Long> removedBooksDuringBuild = new HashSet<>();
+
+    // A carga roda numa thread própria; enquanto o índice não fica pronto as buscas continuam indo para o banco
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(() -> {
+            try {
+                build();
+            } catch (RuntimeException e) {
+                logger.error("Search index build failed, searches will keep using the database", e);
+            }
+        }, "search-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void build() {
+        long start = System.currentTimeMillis();
+        boolean loaded;
+        synchronized (this) {
+            building = true;
+        }
+        try {
+            loaded = load();
+        } finally {
+            applyRemovalsDuringBuild();
+        }
+        if (!loaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (overCapacity) {
+                return;
+            }
+            ready = true;
+        }
+        logger.info("Search index built with {} people and {} books in {} ms",
+                personNames.size(), bookTitles.size(), System.currentTimeMillis() - start);
+    }
+
+    // Lê as tabelas em blocos por id; devolve false se a carga foi abandonada por passar de max-rows
+    private boolean load() {
+        Pageable chunk = PageRequest.of(0, BUILD_CHUNK_SIZE, Sort.by("id"));
+
+        Slice<Person> persons = personRepository.findByIdGreaterThan(0L, chunk);
+        while (true) {
+            persons.forEach(p -> personNames.putIfAbsent(p.getId(), p.getFirstName()));
+            if (!withinCapacity()) {
+                // O bloco pode ter posto mais algumas linhas depois do descarte
+                discard();
+                return false;
+            }
+            if (!persons.hasNext()) break;
+            List<Person> content = persons.getContent();
+            persons = personRepository.findByIdGreaterThan(content.get(content.size() - 1).getId(), chunk);
+        }
+
+        Slice<Book> books = bookRepository.findByIdGreaterThan(0L, chunk);
+        while (true) {
+            books.forEach(b -> bookTitles.putIfAbsent(b.getId(), b.getTitle()));
+            if (!withinCapacity()) {
+                discard();
+                return false;
+            }
+            if (!books.hasNext()) break;
+            List<Book> content = books.getContent();
+            books = bookRepository.findByIdGreaterThan(content.get(content.size() - 1).getId(), chunk);
+        }
+        return true;
+    }
+
+    // A carga pode ter lido uma linha antes de ela ser apagada e só depois chegar ao putIfAbsent dela:
+    // as remoções feitas durante a carga são aplicadas de novo no fim
+    private synchronized void applyRemovalsDuringBuild() {
+        building = false;
+        removedPersonsDuringBuild.forEach(personNames::remove);
+        removedBooksDuringBuild.forEach(bookTitles::remove);
+        removedPersonsDuringBuild.clear();
+        removedBooksDuringBuild.clear();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Termos com menos de 3 caracteres não têm trigrama e vão para o banco
+    public boolean canSearch(String term) {
+        return ready && NGramIndex.isSearchable(term);
+    }
+
+    public void indexPerson(Long id, String firstName) {
+        if (enabled && !overCapacity) {
+            personNames.put(id, firstName);
+            withinCapacity();
+        }
+    }
+
+    public synchronized void removePerson(Long id) {
+        personNames.remove(id);
+        if (building) {
+            removedPersonsDuringBuild.add(id);
+        }
+    }
+
+    public void indexBook(Long id, String title) {
+        if (enabled && !overCapacity) {
+            bookTitles.put(id, title);
+            withinCapacity();
+        }
+    }
+
+    public synchronized void removeBook(Long id) {
+        bookTitles.remove(id);
+        if (building) {
+            removedBooksDuringBuild.add(id);
+        }
+    }
+
+    private boolean withinCapacity() {
+        if (overCapacity || personNames.size() + bookTitles.size() <= maxRows) {
+            return !overCapacity;
+        }
+        synchronized (this) {
+            if (!overCapacity) {
+                overCapacity = true;
+                ready = false;
+                discard();
+                logger.warn("Search index passed search.index.max-rows={}, searches will use the database", maxRows);
+            }
+        }
+        return false;
+    }
+
+    private void discard() {
+        personNames.clear();
+        bookTitles.clear();
+    }
+
+    public Slice<Long> findPersonIdsByName(String firstName, Pageable pageable) {
+        return page(personNames, firstName, isAscending(pageable, "firstName"), pageable);
+    }
+
+    public Slice<Long> findBookIdsByTitle(String title, Pageable pageable) {
+        return page(bookTitles, title, isAscending(pageable, "title"), pageable);
+    }
+
+    private boolean isAscending(Pageable pageable, String property) {
+        Sort.Order order = pageable.getSort().getOrderFor(property);
+        return order == null || order.isAscending();
+    }
+
+    // Com o total exato devolve um Page; se a contagem parou em count-limit devolve um Slice, sem total,
+    // como a listagem sem COUNT
+    private Slice<Long> page(NGramIndex index, String term, boolean ascending, Pageable pageable) {
+        NGramIndex.Hits hits = index.search(term, ascending, pageable.getOffset(), pageable.getPageSize(), countLimit);
+        if (hits.isExact()) {
+            return new PageImpl<>(hits.getIds(), pageable, hits.getTotal());
+        }
+        return new SliceImpl<>(hits.getIds(), pageable, hits.getTotal() > pageable.getOffset() + hits.getIds().size());
+    }
+}
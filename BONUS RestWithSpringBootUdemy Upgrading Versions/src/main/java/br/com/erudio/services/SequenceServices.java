@@ -0,0 +1,33 @@
+package br.com.erudio.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Cargas via JDBC (seed, importação) precisam de ids que não colidam com os gerados pelo Hibernate
+@Service
+public class SequenceServices {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    // Reserva um bloco de ids na mesma tabela usada pelo @TableGenerator (pooled-lo) e devolve o primeiro;
+    // transação própria e curta para o FOR UPDATE não segurar os inserts da aplicação
+    public long reserve(String sequenceName, long count) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate.execute(status -> {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM hibernate_sequences WHERE sequence_name = ? FOR UPDATE", Long.class, sequenceName);
+            jdbcTemplate.update("UPDATE hibernate_sequences SET next_val = ? WHERE sequence_name = ?",
+                    next + count, sequenceName);
+            return next;
+        });
+    }
+}
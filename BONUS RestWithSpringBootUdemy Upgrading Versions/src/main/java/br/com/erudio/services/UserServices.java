@@ -1,15 +1,24 @@
 package br.com.erudio.services;
 
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.data.model.User;
 import br.com.erudio.repository.UserRepository;
+import br.com.erudio.secutiry.CachedUserDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserServices implements UserDetailsService {
+public class UserServices implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserServices.class);
 
     @Autowired
     UserRepository repository;
@@ -18,13 +27,41 @@ public class UserServices implements UserDetailsService {
         this.repository = repository;
     }
 
+    // Chamado pelo filtro JWT em toda requisição autenticada: com o cache, só a primeira vai ao banco.
+    // Sem @Transactional aqui para o acerto no cache não abrir transação; a consulta do repositório já é read-only.
+    // Usuário inexistente lança exceção e não é guardado. O cache guarda uma cópia imutável, nunca a entidade.
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return CachedUserDetails.of(findUser(username));
+    }
+
+    // Rehash transparente: chamado pelo DaoAuthenticationProvider depois de um login com sucesso
+    // quando o hash salvo está em outro formato ou custo que o configurado
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#user.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // Recarrega a entidade: o UserDetails recebido é a cópia do cache, que não pode ser alterada
+        User entity = findUser(user.getUsername());
+        repository.updatePassword(entity.getUserName(), newPassword);
+        logger.info("Password hash of user {} upgraded", entity.getUserName());
+        entity.setPassword(newPassword);
+        return CachedUserDetails.of(entity);
+    }
+
+    private User findUser(String username) {
         User user = repository.findByUserName(username);
-        if (user != null) {
-            return user;
-        } else {
+        if (user == null) {
             throw new UsernameNotFoundException("Username " + username + "not found");
         }
+        return user;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#username")
+    public void evict(String username) {
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)
+    public void evictAll() {
     }
 }
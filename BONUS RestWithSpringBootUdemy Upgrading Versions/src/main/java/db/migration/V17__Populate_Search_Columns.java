@@ -0,0 +1,51 @@
+package db.migration;
+
+import br.com.erudio.search.SearchText;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Preenche as colunas *_search; a remoção de acentos precisa do Normalizer do Java, por isso não é SQL.
+// Os índices só são criados depois (V18), para não mantê-los a cada UPDATE
+public class V17__Populate_Search_Columns extends BaseJavaMigration {
+
+    private static final int CHUNK_SIZE = 5000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        populate(connection, "person", "first_name", "first_name_search");
+        populate(connection, "books", "title", "title_search");
+    }
+
+    // Percorre a tabela por id em blocos, com um UPDATE em lote por bloco
+    private void populate(Connection connection, String table, String source, String target) throws SQLException {
+        String select = "SELECT id, " + source + " FROM " + table + " WHERE id > ? ORDER BY id LIMIT " + CHUNK_SIZE;
+        String update = "UPDATE " + table + " SET " + target + " = ? WHERE id = ?";
+        try (PreparedStatement reader = connection.prepareStatement(select);
+             PreparedStatement writer = connection.prepareStatement(update)) {
+            long lastId = 0;
+            int read;
+            do {
+                read = 0;
+                reader.setLong(1, lastId);
+                try (ResultSet rs = reader.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = rs.getLong(1);
+                        writer.setString(1, SearchText.normalize(rs.getString(2)));
+                        writer.setLong(2, lastId);
+                        writer.addBatch();
+                        read++;
+                    }
+                }
+                if (read > 0) {
+                    writer.executeBatch();
+                }
+            } while (read == CHUNK_SIZE);
+        }
+    }
+}
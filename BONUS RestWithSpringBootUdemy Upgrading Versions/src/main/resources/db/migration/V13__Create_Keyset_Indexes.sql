@@ -0,0 +1,4 @@
+ALTER TABLE `books` MODIFY `title` varchar(255);
+
+CREATE INDEX `idx_person_first_name_id` ON `person` (`first_name`, `id`);
+CREATE INDEX `idx_books_title_id` ON `books` (`title`, `id`);
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS `hibernate_sequences` (
+  `sequence_name` varchar(255) NOT NULL,
+  `next_val` bigint(20) DEFAULT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB;
+
+INSERT INTO `hibernate_sequences` (`sequence_name`, `next_val`) SELECT 'person', COALESCE(MAX(`id`), 0) + 1 FROM `person`;
+INSERT INTO `hibernate_sequences` (`sequence_name`, `next_val`) SELECT 'books', COALESCE(MAX(`id`), 0) + 1 FROM `books`;
@@ -0,0 +1,5 @@
+ALTER TABLE `person`
+	ADD COLUMN `first_name_search` varchar(80) NULL AFTER `first_name`;
+
+ALTER TABLE `books`
+	ADD COLUMN `title_search` varchar(255) NULL AFTER `title`;
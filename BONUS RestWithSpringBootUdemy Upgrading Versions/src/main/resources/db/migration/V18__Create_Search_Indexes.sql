@@ -0,0 +1,2 @@
+CREATE INDEX `idx_person_first_name_search_id` ON `person` (`first_name_search`, `id`);
+CREATE INDEX `idx_books_title_search_id` ON `books` (`title_search`, `id`);
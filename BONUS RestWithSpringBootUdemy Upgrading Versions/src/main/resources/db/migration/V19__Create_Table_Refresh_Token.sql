@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS `refresh_token` (
+  `token_hash` char(44) NOT NULL,
+  `user_name` varchar(255) NOT NULL,
+  `expires_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`token_hash`),
+  KEY `idx_refresh_token_user_name` (`user_name`),
+  KEY `idx_refresh_token_expires_at` (`expires_at`)
+) ENGINE=InnoDB;
@@ -0,0 +1,5 @@
+package br.com.erudio;
+
+// Categoria JUnit dos testes de desempenho: demorados e sensíveis à máquina, só rodam no perfil performance
+public interface PerformanceTests {
+}
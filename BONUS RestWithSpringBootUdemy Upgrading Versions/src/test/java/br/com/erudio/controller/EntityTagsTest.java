@@ -0,0 +1,37 @@
+package br.com.erudio.controller;
+
+import br.com.erudio.exception.PreconditionFailedException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EntityTagsTest {
+
+    @Test
+    public void formatsVersionAsStrongTag() {
+        Assert.assertEquals("\"3\"", EntityTags.of(3L));
+        Assert.assertNull(EntityTags.of(null));
+    }
+
+    @Test
+    public void parsesStrongTags() {
+        Assert.assertEquals(Long.valueOf(3), EntityTags.parseIfMatch("\"3\""));
+        Assert.assertEquals(Long.valueOf(3), EntityTags.parseIfMatch("3"));
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void weakTagNeverMatches() {
+        EntityTags.parseIfMatch("W/\"3\"");
+    }
+
+    @Test
+    public void missingOrWildcardMeansUnconditional() {
+        Assert.assertNull(EntityTags.parseIfMatch(null));
+        Assert.assertNull(EntityTags.parseIfMatch(" "));
+        Assert.assertNull(EntityTags.parseIfMatch("*"));
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void foreignTagNeverMatches() {
+        EntityTags.parseIfMatch("\"abc\"");
+    }
+}
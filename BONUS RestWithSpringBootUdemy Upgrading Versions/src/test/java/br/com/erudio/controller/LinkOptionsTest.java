@@ -0,0 +1,27 @@
+package br.com.erudio.controller;
+
+import br.com.erudio.exception.InvalidRequestException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LinkOptionsTest {
+
+    @Test
+    public void allIsTheDefault() {
+        Assert.assertFalse(LinkOptions.isNone(null));
+        Assert.assertFalse(LinkOptions.isNone(""));
+        Assert.assertFalse(LinkOptions.isNone("all"));
+        Assert.assertFalse(LinkOptions.isNone("ALL"));
+    }
+
+    @Test
+    public void noneSkipsLinks() {
+        Assert.assertTrue(LinkOptions.isNone("none"));
+        Assert.assertTrue(LinkOptions.isNone(" None "));
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void unknownOptionIsRejected() {
+        LinkOptions.isNone("some");
+    }
+}
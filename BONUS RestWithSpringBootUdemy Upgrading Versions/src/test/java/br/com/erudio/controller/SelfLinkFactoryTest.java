@@ -0,0 +1,73 @@
+package br.com.erudio.controller;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+public class SelfLinkFactoryTest {
+
+    private final SelfLinkFactory personLinks =
+            new SelfLinkFactory(PersonController.class, () -> methodOn(PersonController.class).findById(null));
+    private final SelfLinkFactory bookLinks =
+            new SelfLinkFactory(BookController.class, () -> methodOn(BookController.class).findById(null));
+
+    private MockHttpServletRequest request;
+
+    @Before
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/person/v1");
+        request.setScheme("https");
+        request.setServerName("api.erudio.com.br");
+        request.setServerPort(8443);
+        request.setContextPath("/app");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void sameLinkAsMethodOn() {
+        for (long id : new long[] { 1, 42, 1234567890123L }) {
+            Link expected = linkTo(methodOn(PersonController.class).findById(id)).withSelfRel();
+            Link actual = personLinks.template().expand(id);
+            Assert.assertEquals(expected.getHref(), actual.getHref());
+            Assert.assertEquals(IanaLinkRelations.SELF, actual.getRel());
+            Assert.assertFalse(actual.isTemplated());
+        }
+        Assert.assertEquals(linkTo(methodOn(BookController.class).findById(7L)).withSelfRel().getHref(),
+                bookLinks.expand(7L).getHref());
+        Assert.assertEquals("https://api.erudio.com.br:8443/app/api/book/v1/7", bookLinks.expand(7L).getHref());
+    }
+
+    @Test
+    public void honorsForwardedHeaders() {
+        request.addHeader("X-Forwarded-Host", "proxy.erudio.com.br");
+        request.addHeader("X-Forwarded-Proto", "http");
+        request.addHeader("X-Forwarded-Port", "80");
+
+        Assert.assertEquals(linkTo(methodOn(PersonController.class).findById(3L)).withSelfRel().getHref(),
+                personLinks.expand(3L).getHref());
+    }
+
+    @Test
+    public void templateIsBuiltOncePerRequest() {
+        SelfLinkFactory.Template first = personLinks.template();
+        Assert.assertSame(first, personLinks.template());
+        Assert.assertNotSame(first, bookLinks.template());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Assert.assertNotSame(first, personLinks.template());
+    }
+}
@@ -22,16 +22,24 @@ public class MockBook {
     }
 
     public List<Book> mockEntityList() {
+        return mockEntityList(14);
+    }
+
+    public List<Book> mockEntityList(int size) {
         List<Book> books = new ArrayList<>();
-        for (int i = 0; i < 14; i++) {
+        for (int i = 0; i < size; i++) {
             books.add(mockEntity(i));
         }
         return books;
     }
 
     public List<BookVO> mockVOList() {
+        return mockVOList(14);
+    }
+
+    public List<BookVO> mockVOList(int size) {
         List<BookVO> books = new ArrayList<>();
-        for (int i = 0; i < 14; i++) {
+        for (int i = 0; i < size; i++) {
             books.add(mockVO(i));
         }
         return books;
@@ -41,7 +49,7 @@ public class MockBook {
         Book book = new Book();
         book.setId(number.longValue());
         book.setAuthor("Author Test" + number);
-        book.setLaunchDate(LocalDate.of(2021, 1, 1 + number));
+        book.setLaunchDate(LocalDate.of(2021, 1, 1).plusDays(number));
         book.setPrice(BigDecimal.valueOf(number));
         book.setTitle("Title Test" + number);
         return book;
@@ -51,7 +59,7 @@ public class MockBook {
         BookVO book = new BookVO();
         book.setKey(number.longValue());
         book.setAuthor("Author Test" + number);
-        book.setLaunchDate(LocalDate.of(2021, 1, 1 + number));
+        book.setLaunchDate(LocalDate.of(2021, 1, 1).plusDays(number));
         book.setPrice(BigDecimal.valueOf(number));
         book.setTitle("Title Test" + number);
         return book;
@@ -17,16 +17,24 @@ public class MockPerson {
     }
 
     public List<Person> mockEntityList() {
+        return mockEntityList(14);
+    }
+
+    public List<Person> mockEntityList(int size) {
         List<Person> persons = new ArrayList<>();
-        for (int i = 0; i < 14; i++) {
+        for (int i = 0; i < size; i++) {
             persons.add(mockEntity(i));
         }
         return persons;
     }
 
     public List<PersonVO> mockVOList() {
+        return mockVOList(14);
+    }
+
+    public List<PersonVO> mockVOList(int size) {
         List<PersonVO> persons = new ArrayList<>();
-        for (int i = 0; i < 14; i++) {
+        for (int i = 0; i < size; i++) {
             persons.add(mockVO(i));
         }
         return persons;
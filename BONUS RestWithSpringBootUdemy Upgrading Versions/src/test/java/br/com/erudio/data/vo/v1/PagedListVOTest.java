@@ -0,0 +1,69 @@
+package br.com.erudio.data.vo.v1;
+
+import br.com.erudio.converter.mocks.MockPerson;
+import br.com.erudio.pagination.KeysetSlice;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.hateoas.Link;
+
+import java.util.List;
+
+public class PagedListVOTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    @Test
+    public void pageCarriesTotals() {
+        List<PersonVO> persons = new MockPerson().mockVOList(2);
+        PagedListVO<PersonVO> list = PagedListVO.of(new PageImpl<>(persons, PageRequest.of(1, 2), 7));
+
+        Assert.assertEquals(persons, list.getContent());
+        Assert.assertEquals(Integer.valueOf(1), list.getPage());
+        Assert.assertEquals(Integer.valueOf(2), list.getSize());
+        Assert.assertEquals(Long.valueOf(7), list.getTotalElements());
+        Assert.assertEquals(Integer.valueOf(4), list.getTotalPages());
+        Assert.assertTrue(list.getHasNext());
+        Assert.assertTrue(list.getHasPrevious());
+    }
+
+    @Test
+    public void sliceHasNoTotals() {
+        PagedListVO<PersonVO> list = PagedListVO.of(new SliceImpl<>(new MockPerson().mockVOList(2), PageRequest.of(0, 2), true));
+
+        Assert.assertNull(list.getTotalElements());
+        Assert.assertNull(list.getTotalPages());
+        Assert.assertTrue(list.getHasNext());
+        Assert.assertFalse(list.getHasPrevious());
+    }
+
+    @Test
+    public void keysetCarriesCursors() {
+        KeysetSlice<PersonVO> slice = new KeysetSlice<>(new MockPerson().mockVOList(2), true, true);
+        PagedListVO<PersonVO> list = PagedListVO.of(slice, 2, "next", "previous");
+
+        Assert.assertNull(list.getPage());
+        Assert.assertEquals("next", list.getNextCursor());
+        Assert.assertEquals("previous", list.getPreviousCursor());
+    }
+
+    @Test
+    public void itemsAreSerializedWithoutLinks() throws Exception {
+        List<PersonVO> persons = new MockPerson().mockVOList(1);
+        persons.get(0).add(Link.of("http://localhost/api/person/v1/0"));
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(
+                PagedListVO.of(new SliceImpl<>(persons, PageRequest.of(0, 1), false))));
+
+        Assert.assertEquals(1, json.get("content").size());
+        Assert.assertEquals(0, json.get("content").get(0).get("id").asLong());
+        Assert.assertFalse(json.get("content").get(0).has("links"));
+        Assert.assertFalse(json.has("totalElements"));
+        Assert.assertFalse(json.get("hasNext").asBoolean());
+    }
+}
@@ -0,0 +1,211 @@
+package br.com.erudio.datasource;
+
+import br.com.erudio.config.ReplicaDataSourceConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Id;
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Dois H2 embarcados fazem o papel do primário e da réplica; cada um tem a mesma linha com o próprio nome.
+// Mesma montagem da aplicação: JPA com JpaTransactionManager, repositório Spring Data e o advisor de @ReplicaRead
+public class ReadReplicaRoutingDataSourceTest {
+
+    private static EmbeddedDatabase primary;
+    private static EmbeddedDatabase replica;
+    private static ReplicaLagMonitor lagMonitor;
+
+    private AnnotationConfigApplicationContext context;
+    private NodeRepository repository;
+    private NodeServices services;
+    private TransactionTemplate readWrite;
+
+    @Before
+    public void setUp() {
+        primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_status (lag BIGINT)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_status VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT lag AS Seconds_Behind_Master FROM replica_status",
+                "Seconds_Behind_Master", 5);
+        lagMonitor.refresh();
+
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        repository = context.getBean(NodeRepository.class);
+        services = context.getBean(NodeServices.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    public void markedReadOnlyTransactionGoesToReplicaTest() {
+        Assert.assertEquals("replica", services.replicaRead());
+    }
+
+    @Test
+    public void repositoryReadOnlyTransactionGoesToPrimaryTest() {
+        // findById do Spring Data abre a própria transação readOnly: sem @ReplicaRead fica no primário
+        Assert.assertEquals("primary", repository.findById(1L).get().getName());
+    }
+
+    @Test
+    public void unmarkedReadOnlyTransactionGoesToPrimaryTest() {
+        Assert.assertEquals("primary", services.primaryRead());
+    }
+
+    @Test
+    public void readWriteTransactionGoesToPrimaryTest() {
+        Assert.assertEquals("primary", readWrite.execute(status -> repository.findById(1L).get().getName()));
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToPrimaryTest() {
+        new JdbcTemplate(replica).update("UPDATE replica_status SET lag = 60");
+        lagMonitor.refresh();
+
+        Assert.assertFalse(lagMonitor.isReplicaAvailable());
+        Assert.assertEquals("primary", services.replicaRead());
+
+        new JdbcTemplate(replica).update("UPDATE replica_status SET lag = 1");
+        lagMonitor.refresh();
+
+        Assert.assertEquals("replica", services.replicaRead());
+    }
+
+    @Test
+    public void stoppedReplicationFallsBackToPrimaryTest() {
+        new JdbcTemplate(replica).update("UPDATE replica_status SET lag = NULL");
+        lagMonitor.refresh();
+
+        Assert.assertEquals("primary", services.replicaRead());
+    }
+
+    @Test
+    public void unreachableReplicaFallsBackToPrimaryTest() {
+        new JdbcTemplate(replica).execute("DROP TABLE replica_status");
+        lagMonitor.refresh();
+
+        Assert.assertEquals("primary", services.replicaRead());
+    }
+
+    private static EmbeddedDatabase embeddedDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE node (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (1, ?)", name);
+        return database;
+    }
+
+    @Configuration
+    @EnableTransactionManagement(proxyTargetClass = true)
+    @EnableJpaRepositories(basePackageClasses = ReadReplicaRoutingDataSourceTest.class, considerNestedRepositories = true)
+    static class JpaConfig {
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        public static Advisor replicaReadAdvisor() {
+            return ReplicaDataSourceConfig.replicaReadAdvisor();
+        }
+
+        @Bean
+        public DataSource dataSource() {
+            return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica, lagMonitor));
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setPackagesToScan(ReadReplicaRoutingDataSourceTest.class.getPackage().getName());
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                    "hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION"));
+            return factory;
+        }
+
+        @Bean
+        public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        public NodeServices nodeServices(NodeRepository repository) {
+            return new NodeServices(repository);
+        }
+    }
+
+    public static class NodeServices {
+
+        private final NodeRepository repository;
+
+        public NodeServices(NodeRepository repository) {
+            this.repository = repository;
+        }
+
+        @ReplicaRead
+        @Transactional(readOnly = true)
+        public String replicaRead() {
+            return repository.findById(1L).get().getName();
+        }
+
+        @Transactional(readOnly = true)
+        public String primaryRead() {
+            return repository.findById(1L).get().getName();
+        }
+    }
+
+    public interface NodeRepository extends JpaRepository<Node, Long> {
+    }
+
+    @Entity(name = "Node")
+    public static class Node {
+
+        @Id
+        private Long id;
+        private String name;
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
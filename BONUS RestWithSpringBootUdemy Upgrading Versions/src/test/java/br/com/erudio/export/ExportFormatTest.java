@@ -0,0 +1,26 @@
+package br.com.erudio.export;
+
+import br.com.erudio.exception.InvalidRequestException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExportFormatTest {
+
+    @Test
+    public void parsesFormatIgnoringCase() {
+        Assert.assertEquals(ExportFormat.NDJSON, ExportFormat.from("ndjson"));
+        Assert.assertEquals(ExportFormat.CSV, ExportFormat.from("CSV"));
+        Assert.assertEquals(ExportFormat.YAML, ExportFormat.from("Yaml"));
+    }
+
+    @Test
+    public void exposesMediaTypeAndExtension() {
+        Assert.assertEquals("text/csv", ExportFormat.CSV.getMediaType().toString());
+        Assert.assertEquals("ndjson", ExportFormat.NDJSON.getExtension());
+    }
+
+    @Test(expected = InvalidRequestException.class)
+    public void rejectsUnknownFormat() {
+        ExportFormat.from("xls");
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.erudio.importing;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class ImportRowsTest {
+
+    @Test
+    public void mapsPersonToColumnsWithNewIdAndSearchColumn() {
+        PersonVO person = new PersonVO(99L, " João ", "Silva", "Rua A", "Male", null);
+
+        Assert.assertNull(ImportRows.validatePerson(person));
+        Assert.assertArrayEquals(new Object[] { 7L, "Rua A", "João", "joao", "Male", "Silva", true, 0L },
+                ImportRows.person(7L, person));
+    }
+
+    @Test
+    public void rejectsPersonWithMissingOrTooLongFields() {
+        Assert.assertEquals("firstName is required",
+                ImportRows.validatePerson(new PersonVO(null, " ", "Silva", "Rua A", "Male", true)));
+        Assert.assertEquals("gender must have at most 6 characters",
+                ImportRows.validatePerson(new PersonVO(null, "Ana", "Silva", "Rua A", "Unknown", true)));
+    }
+
+    @Test
+    public void validatesBookPriceAndLaunchDate() {
+        LocalDate launch = LocalDate.of(2020, 1, 1);
+        Assert.assertNull(ImportRows.validateBook(new BookVO(null, null, launch, BigDecimal.TEN, "Clean Code")));
+        Assert.assertEquals("launchDate is required",
+                ImportRows.validateBook(new BookVO(null, "Bob", null, BigDecimal.TEN, "Clean Code")));
+        Assert.assertEquals("price must not be negative",
+                ImportRows.validateBook(new BookVO(null, "Bob", launch, BigDecimal.ONE.negate(), "Clean Code")));
+    }
+}
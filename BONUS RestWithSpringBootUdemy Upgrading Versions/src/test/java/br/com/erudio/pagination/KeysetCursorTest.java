@@ -0,0 +1,48 @@
+package br.com.erudio.pagination;
+
+import br.com.erudio.exception.InvalidCursorException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void encodeDecodeTest() {
+        KeysetCursor cursor = KeysetCursor.after("Ana: Maria", 42L);
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        Assert.assertEquals(cursor, decoded);
+        Assert.assertEquals("Ana: Maria", decoded.getValue());
+        Assert.assertEquals(Long.valueOf(42), decoded.getId());
+        Assert.assertFalse(decoded.isBackward());
+    }
+
+    @Test
+    public void encodeDecodeBackwardTest() {
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.before("Ção", 7L).encode());
+
+        Assert.assertEquals("Ção", decoded.getValue());
+        Assert.assertTrue(decoded.isBackward());
+    }
+
+    @Test
+    public void encodeDecodeNullValueTest() {
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.after(null, 42L).encode());
+
+        Assert.assertNull(decoded.getValue());
+        Assert.assertEquals(Long.valueOf(42), decoded.getId());
+        // Texto vazio continua diferente de null
+        Assert.assertEquals("", KeysetCursor.decode(KeysetCursor.after("", 42L).encode()).getValue());
+    }
+
+    @Test
+    public void decodeEmptyCursorTest() {
+        Assert.assertNull(KeysetCursor.decode(null));
+        Assert.assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test(expected = InvalidCursorException.class)
+    public void decodeInvalidCursorTest() {
+        KeysetCursor.decode("not-a-cursor");
+    }
+}
@@ -0,0 +1,284 @@
+package br.com.erudio.repository;
+
+import br.com.erudio.PerformanceTests;
+import br.com.erudio.data.model.User;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.search.SearchMode;
+import br.com.erudio.search.SearchText;
+import br.com.erudio.seed.MultiRowInsert;
+import br.com.erudio.seed.SyntheticRows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.BeforeTransaction;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Regressão de desempenho das consultas dos repositórios sobre um H2 em modo MySQL com 1M+ linhas.
+// Fora do mvn test padrão; roda com mvn test -Pperformance.
+// Volumes e orçamentos podem ser ajustados com -Drepository.performance.persons=... etc.
+@Category(PerformanceTests.class)
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repository_performance;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.erudio.repository.SqlCapture",
+        "spring.flyway.enabled=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class RepositoryPerformanceTest {
+
+    private static final long PERSONS = Long.getLong("repository.performance.persons", 1_000_000);
+    private static final long BOOKS = Long.getLong("repository.performance.books", 200_000);
+    private static final long USERS = Long.getLong("repository.performance.users", 10_000);
+
+    // Orçamentos em ms para a mediana das execuções: folgados o bastante para uma máquina de CI,
+    // apertados o bastante para pegar uma consulta que passou a varrer a tabela inteira
+    private static final long INDEXED_BUDGET = Long.getLong("repository.performance.indexed-budget-ms", 50);
+    private static final long SCAN_BUDGET = Long.getLong("repository.performance.scan-budget-ms", 3000);
+
+    private static final int WARMUP = 3;
+    private static final int RUNS = 11;
+
+    private static boolean seeded;
+
+    @Autowired
+    PersonRepository personRepository;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    // Fora da transação do teste: a carga é feita uma vez e sobrevive aos rollbacks
+    @BeforeTransaction
+    public void seed() {
+        if (seeded) return;
+
+        // Mesmos índices das migrations (V13 e V18); o schema em si vem do Hibernate
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V13__Create_Keyset_Indexes.sql"),
+                new ClassPathResource("db/migration/V18__Create_Search_Indexes.sql"))
+                .execute(jdbcTemplate.getDataSource());
+
+        SyntheticRows persons = new SyntheticRows(1);
+        MultiRowInsert personInsert = new MultiRowInsert(jdbcTemplate, "person", 1000,
+                "id", "address", "first_name", "first_name_search", "gender", "last_name", "enabled", "version");
+        for (long id = 1; id <= PERSONS; id++) personInsert.add(persons.person(id));
+        personInsert.flush();
+
+        SyntheticRows books = new SyntheticRows(2);
+        MultiRowInsert bookInsert = new MultiRowInsert(jdbcTemplate, "books", 1000,
+                "id", "author", "launch_date", "price", "title", "title_search", "version");
+        for (long id = 1; id <= BOOKS; id++) bookInsert.add(books.book(id));
+        bookInsert.flush();
+
+        SyntheticRows users = new SyntheticRows(3);
+        MultiRowInsert userInsert = new MultiRowInsert(jdbcTemplate, "users", 1000,
+                "user_name", "full_name", "password", "account_non_expired", "account_non_locked",
+                "credentials_non_expired", "enabled");
+        for (long i = 0; i < USERS; i++) userInsert.add(users.user("user" + i, "x"));
+        userInsert.flush();
+        jdbcTemplate.update("INSERT INTO permission (id, description) VALUES (1, 'COMMON_USER')");
+        jdbcTemplate.update("INSERT INTO user_permission (id_user, id_permission) SELECT id, 1 FROM users");
+
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    public void findAllPersonsSortedByFirstName() {
+        Page<PersonVO> page = measure("findAllVOs", INDEXED_BUDGET, 2,
+                () -> personRepository.findAllVOs(PageRequest.of(500, 12, Sort.by(Sort.Direction.ASC, "firstName"))));
+        Assert.assertEquals(12, page.getContent().size());
+        Assert.assertEquals(PERSONS, page.getTotalElements());
+        assertUsesIndex(0, "IDX_PERSON_FIRST_NAME_ID");
+    }
+
+    @Test
+    public void findAllPersonsWithoutCount() {
+        Slice<PersonVO> slice = measure("findAllBy", INDEXED_BUDGET, 1,
+                () -> personRepository.findAllBy(PageRequest.of(500, 12, Sort.by(Sort.Direction.ASC, "firstName"))));
+        Assert.assertTrue(slice.hasNext());
+        assertUsesIndex(0, "IDX_PERSON_FIRST_NAME_ID");
+    }
+
+    @Test
+    public void findPersonsAfterKeyset() {
+        Slice<PersonVO> slice = measure("findPersonsAfter", INDEXED_BUDGET, 1,
+                () -> personRepository.findPersonsAfter("Leandro", 500_000L, PageRequest.of(0, 12, Sort.by("firstName", "id"))));
+        Assert.assertEquals(12, slice.getContent().size());
+        assertUsesIndex(0, "IDX_PERSON_FIRST_NAME_ID");
+    }
+
+    @Test
+    public void findPersonById() {
+        measure("findById", INDEXED_BUDGET, 1, () -> {
+            entityManager.clear();
+            return personRepository.findById(PERSONS / 2).orElseThrow();
+        });
+        assertUsesIndex(0, "PRIMARY_KEY");
+    }
+
+    // LIKE '%x%' não tem condição de busca no índice: o orçamento aqui é de varredura, e o EXPLAIN confirma o plano
+    // conhecido (a página percorre o índice da ordenação, o COUNT percorre o índice da coluna de busca, ambos inteiros)
+    @Test
+    public void findPersonByName() {
+        Page<PersonVO> page = measure("findPersonByName", SCAN_BUDGET, 2,
+                () -> personRepository.findPersonByName(SearchText.likePattern("and", SearchMode.CONTAINS),
+                        PageRequest.of(0, 12, Sort.by("firstName"))));
+        Assert.assertEquals(12, page.getContent().size());
+        Assert.assertTrue(page.getTotalElements() > 0);
+        assertScansIndex(0, "IDX_PERSON_FIRST_NAME_ID");
+        assertScansIndex(1, "IDX_PERSON_FIRST_NAME_SEARCH_ID");
+    }
+
+    @Test
+    public void findBookByTitle() {
+        Page<BookVO> page = measure("findBookByTitle", SCAN_BUDGET, 2,
+                () -> bookRepository.findBookByTitle(SearchText.likePattern("spring", SearchMode.CONTAINS),
+                        PageRequest.of(0, 12, Sort.by("title"))));
+        Assert.assertEquals(12, page.getContent().size());
+        assertScansIndex(0, "IDX_BOOKS_TITLE_ID");
+        assertScansIndex(1, "IDX_BOOKS_TITLE_SEARCH_ID");
+    }
+
+    // Prefixo sobre a coluna normalizada: range scan no índice, inclusive para termos com acento e caixa mista
+    @Test
+    public void findPersonByNamePrefix() {
+        Slice<PersonVO> slice = measure("findPersonSliceByName prefix", INDEXED_BUDGET, 1,
+                () -> personRepository.findPersonSliceByName(SearchText.likePattern("JOÃ", SearchMode.PREFIX),
+                        PageRequest.of(0, 12, Sort.by("firstNameSearch", "id"))));
+        Assert.assertEquals(12, slice.getContent().size());
+        slice.forEach(p -> Assert.assertEquals("João", p.getFirstName()));
+        assertUsesIndex(0, "IDX_PERSON_FIRST_NAME_SEARCH_ID");
+    }
+
+    @Test
+    public void findBookByTitlePrefix() {
+        Slice<BookVO> slice = measure("findBookSliceByTitle prefix", INDEXED_BUDGET, 1,
+                () -> bookRepository.findBookSliceByTitle(SearchText.likePattern("spring b", SearchMode.PREFIX),
+                        PageRequest.of(0, 12, Sort.by("titleSearch", "id"))));
+        Assert.assertEquals(12, slice.getContent().size());
+        slice.forEach(b -> Assert.assertTrue(b.getTitle().startsWith("Spring Boot")));
+        assertUsesIndex(0, "IDX_BOOKS_TITLE_SEARCH_ID");
+    }
+
+    @Test
+    public void findAllBooksSortedByTitle() {
+        Page<BookVO> page = measure("findAllBooks", INDEXED_BUDGET, 2,
+                () -> bookRepository.findAllVOs(PageRequest.of(100, 12, Sort.by(Sort.Direction.ASC, "title"))));
+        Assert.assertEquals(BOOKS, page.getTotalElements());
+        assertUsesIndex(0, "IDX_BOOKS_TITLE_ID");
+    }
+
+    @Test
+    public void disablePersons() {
+        measure("disablePersons", INDEXED_BUDGET, 1, () -> {
+            personRepository.disablePersons(PERSONS / 3);
+            return null;
+        });
+        assertUsesIndex(0, "PRIMARY_KEY");
+        Assert.assertEquals(Boolean.FALSE, jdbcTemplate.queryForObject(
+                "SELECT enabled FROM person WHERE id = ?", Boolean.class, PERSONS / 3));
+    }
+
+    // A consulta do usuário e a carga EAGER das permissões: dois statements, nunca mais
+    @Test
+    public void findByUserName() {
+        User user = measure("findByUserName", INDEXED_BUDGET, 2, () -> {
+            entityManager.clear();
+            return userRepository.findByUserName("user" + (USERS / 2));
+        });
+        Assert.assertNotNull(user);
+        Assert.assertEquals(1, user.getPermissions().size());
+        assertUsesIndex(0, "USER_NAME");
+    }
+
+    // Executa a consulta, confere o número de statements por execução e a mediana contra o orçamento
+    private <T> T measure(String name, long budgetMillis, long expectedStatements, Supplier<T> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long[] elapsed = new long[RUNS];
+        T result = null;
+        for (int i = 0; i < RUNS; i++) {
+            statistics.clear();
+            SqlCapture.clear();
+            long start = System.nanoTime();
+            result = query.get();
+            elapsed[i] = System.nanoTime() - start;
+            Assert.assertEquals(name + " statement count", expectedStatements, statistics.getPrepareStatementCount());
+        }
+        Arrays.sort(elapsed);
+        long medianMillis = elapsed[RUNS / 2] / 1_000_000;
+        Assert.assertTrue(name + " took " + medianMillis + " ms, budget is " + budgetMillis + " ms",
+                medianMillis <= budgetMillis);
+        return result;
+    }
+
+    private void assertUsesIndex(int statement, String index) {
+        String plan = explain(statement);
+        Assert.assertTrue("Expected " + index + " in plan:\n" + plan, plan.toUpperCase().contains(index));
+        Assert.assertFalse("Unexpected table scan:\n" + plan, plan.contains("tableScan"));
+    }
+
+    // Índice percorrido do começo ao fim: o H2 só mostra o nome, sem a condição de busca ("/* INDICE: COLUNA >= ? */")
+    private void assertScansIndex(int statement, String index) {
+        String plan = explain(statement);
+        Assert.assertTrue("Expected a full scan of " + index + " in plan:\n" + plan,
+                plan.toUpperCase().contains(index + " */"));
+    }
+
+    // EXPLAIN do SQL que o Hibernate realmente gerou na última execução
+    private String explain(int statement) {
+        List<String> statements = SqlCapture.statements();
+        String sql = statements.get(statement);
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet rs = explain.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        });
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.erudio.search;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class NGramIndexTest {
+
+    private NGramIndex index;
+
+    @Before
+    public void setUp() {
+        index = new NGramIndex();
+        index.put(1L, "Leandro");
+        index.put(2L, "Alexandra");
+        index.put(3L, "Sandra");
+        index.put(4L, "Andre");
+    }
+
+    @Test
+    public void searchContainsTest() {
+        NGramIndex.Hits hits = index.search("ANDR", true, 0, 10, 100);
+        Assert.assertEquals(List.of(2L, 4L, 1L, 3L), hits.getIds());
+        Assert.assertEquals(4, hits.getTotal());
+        Assert.assertTrue(hits.isExact());
+    }
+
+    @Test
+    public void searchDescendingTest() {
+        Assert.assertEquals(List.of(3L, 1L, 4L, 2L), index.search("andr", false, 0, 10, 100).getIds());
+    }
+
+    @Test
+    public void searchThreeCharacterTermTest() {
+        NGramIndex.Hits hits = index.search("and", true, 0, 10, 100);
+        Assert.assertEquals(List.of(2L, 4L, 1L, 3L), hits.getIds());
+        Assert.assertEquals(4, hits.getTotal());
+    }
+
+    @Test
+    public void shortTermsAreNotSearchableTest() {
+        // Só trigramas são indexados: termos de 1 e 2 caracteres ficam com o banco
+        Assert.assertFalse(NGramIndex.isSearchable("an"));
+        Assert.assertFalse(NGramIndex.isSearchable(" é "));
+        Assert.assertTrue(NGramIndex.isSearchable("And"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void searchShortTermTest() {
+        index.search("an", true, 0, 10, 100);
+    }
+
+    @Test
+    public void searchPageTest() {
+        NGramIndex.Hits hits = index.search("andr", true, 1, 2, 100);
+        Assert.assertEquals(List.of(4L, 1L), hits.getIds());
+        Assert.assertEquals(4, hits.getTotal());
+
+        // Termo de 3 caracteres: o total vem do tamanho da lista de postings mesmo parando no fim da página
+        hits = index.search("and", false, 2, 1, 100);
+        Assert.assertEquals(List.of(4L), hits.getIds());
+        Assert.assertEquals(4, hits.getTotal());
+    }
+
+    @Test
+    public void searchCountLimitTest() {
+        // A contagem para no limite, mas nunca antes do fim da página pedida (+1 para indicar que há próxima)
+        NGramIndex.Hits hits = index.search("andr", true, 0, 1, 2);
+        Assert.assertEquals(List.of(2L), hits.getIds());
+        Assert.assertEquals(2, hits.getTotal());
+        Assert.assertFalse(hits.isExact());
+
+        hits = index.search("andr", true, 2, 1, 2);
+        Assert.assertEquals(List.of(1L), hits.getIds());
+        Assert.assertEquals(4, hits.getTotal());
+        // Chegou ao fim da lista antes do limite: o total é exato
+        Assert.assertTrue(hits.isExact());
+    }
+
+    @Test
+    public void searchWithoutMatchesTest() {
+        Assert.assertTrue(index.search("xyz", true, 0, 10, 100).getIds().isEmpty());
+        Assert.assertEquals(0, index.search("andrex", true, 0, 10, 100).getTotal());
+    }
+
+    @Test
+    public void updateAndRemoveTest() {
+        index.put(1L, "Paulo");
+        index.remove(3L);
+
+        Assert.assertEquals(List.of(2L, 4L), index.search("andr", true, 0, 10, 100).getIds());
+        Assert.assertEquals(List.of(1L), index.search("aul", true, 0, 10, 100).getIds());
+        Assert.assertEquals(2, index.search("and", true, 0, 10, 100).getTotal());
+        Assert.assertEquals(3, index.size());
+    }
+
+    @Test
+    public void putIfAbsentKeepsNewerTextTest() {
+        index.putIfAbsent(1L, "Paulo");
+        index.putIfAbsent(5L, "Paulo");
+
+        Assert.assertEquals(List.of(5L), index.search("paulo", true, 0, 10, 100).getIds());
+    }
+}
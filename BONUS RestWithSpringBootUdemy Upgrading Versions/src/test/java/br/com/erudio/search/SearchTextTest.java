@@ -0,0 +1,31 @@
+package br.com.erudio.search;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SearchTextTest {
+
+    @Test
+    public void foldsCaseAndAccents() {
+        Assert.assertEquals("joao", SearchText.normalize("João"));
+        Assert.assertEquals("acucar e cafe", SearchText.normalize("  AÇÚCAR e Café "));
+        Assert.assertNull(SearchText.normalize(null));
+    }
+
+    @Test
+    public void buildsPrefixAndContainsPatterns() {
+        Assert.assertEquals("jo%", SearchText.likePattern("Jo", SearchMode.PREFIX));
+        Assert.assertEquals("%jo%", SearchText.likePattern("JÓ", SearchMode.CONTAINS));
+    }
+
+    @Test
+    public void escapesWildcardsInTheTerm() {
+        Assert.assertEquals("50!%!_off!!%", SearchText.likePattern("50%_off!", SearchMode.PREFIX));
+    }
+
+    @Test
+    public void parsesModeIgnoringCase() {
+        Assert.assertEquals(SearchMode.PREFIX, SearchMode.from("Prefix"));
+        Assert.assertEquals(SearchMode.CONTAINS, SearchMode.from("contains"));
+    }
+}
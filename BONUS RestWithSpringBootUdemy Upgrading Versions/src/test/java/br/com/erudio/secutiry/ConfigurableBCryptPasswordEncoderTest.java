@@ -0,0 +1,67 @@
+package br.com.erudio.secutiry;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConfigurableBCryptPasswordEncoderTest {
+
+    private final ConfigurableBCryptPasswordEncoder bcrypt = new ConfigurableBCryptPasswordEncoder(5);
+
+    private PasswordEncoder delegating() {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Collections.singletonMap("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    @Test
+    public void upgradeEncodingWhenCostDiffers() {
+        Assert.assertTrue(bcrypt.upgradeEncoding(new BCryptPasswordEncoder(4).encode("admin123")));
+        Assert.assertTrue(bcrypt.upgradeEncoding(new BCryptPasswordEncoder(6).encode("admin123")));
+        Assert.assertFalse(bcrypt.upgradeEncoding(bcrypt.encode("admin123")));
+        Assert.assertFalse(bcrypt.upgradeEncoding(null));
+    }
+
+    @Test
+    public void legacyHashWithoutPrefixStillMatches() {
+        PasswordEncoder encoder = delegating();
+        String legacy = new BCryptPasswordEncoder(4).encode("admin123");
+
+        Assert.assertTrue(encoder.matches("admin123", legacy));
+        Assert.assertFalse(encoder.matches("wrong", legacy));
+        Assert.assertTrue(encoder.upgradeEncoding(legacy));
+        Assert.assertTrue(encoder.encode("admin123").startsWith("{bcrypt}$2a$05$"));
+    }
+
+    @Test
+    public void successfulLoginRehashesPassword() {
+        PasswordEncoder encoder = delegating();
+        UserDetails stored = User.withUsername("leandro")
+                .password(new BCryptPasswordEncoder(4).encode("admin123")).roles("ADMIN").build();
+        AtomicReference<String> rehashed = new AtomicReference<>();
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(username -> stored);
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            rehashed.set(newPassword);
+            return User.withUserDetails(user).password(newPassword).build();
+        });
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("leandro", "admin123"));
+
+        Assert.assertNotNull(rehashed.get());
+        Assert.assertTrue(rehashed.get().startsWith("{bcrypt}$2a$05$"));
+        Assert.assertTrue(encoder.matches("admin123", rehashed.get()));
+        Assert.assertFalse(encoder.upgradeEncoding(rehashed.get()));
+    }
+}
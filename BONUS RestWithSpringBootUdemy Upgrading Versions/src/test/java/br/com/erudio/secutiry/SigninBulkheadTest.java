@@ -0,0 +1,89 @@
+package br.com.erudio.secutiry;
+
+import br.com.erudio.exception.ServiceUnavailableException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SigninBulkheadTest {
+
+    private SigninBulkhead bulkhead;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        bulkhead = new SigninBulkhead();
+        ReflectionTestUtils.setField(bulkhead, "threads", 1);
+        ReflectionTestUtils.setField(bulkhead, "queueCapacity", 2);
+        ReflectionTestUtils.setField(bulkhead, "timeout", 500L);
+        bulkhead.init();
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        bulkhead.destroy();
+    }
+
+    private String blocked() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    @Test
+    public void completesWithTaskResult() throws Exception {
+        Assert.assertEquals("token", bulkhead.submit(() -> "token").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void propagatesTaskException() throws Exception {
+        CompletableFuture<String> future = bulkhead.submit(() -> {
+            throw new IllegalStateException("bad credentials");
+        });
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(expected = ServiceUnavailableException.class)
+    public void rejectsWhenQueueIsFull() {
+        bulkhead.submit(this::blocked);
+        bulkhead.submit(this::blocked);
+        bulkhead.submit(this::blocked);
+        bulkhead.submit(this::blocked);
+    }
+
+    @Test
+    public void timedOutTaskIsSkipped() throws Exception {
+        bulkhead.submit(this::blocked);
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<String> queued = bulkhead.submit(() -> {
+            ran.set(true);
+            return "late";
+        });
+        try {
+            queued.get(2, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ServiceUnavailableException);
+        }
+        release.countDown();
+        Assert.assertEquals("after", bulkhead.submit(() -> "after").get(1, TimeUnit.SECONDS));
+        Assert.assertFalse(ran.get());
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.erudio.secutiry.jwt;
+
+import br.com.erudio.repository.RefreshTokenRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Sem a transação do teste: cada chamada do store abre e confirma a própria transação, como na aplicação
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "search.index.enabled=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import(JpaRefreshTokenStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JpaRefreshTokenStoreTest {
+
+    @Autowired
+    JpaRefreshTokenStore store;
+
+    @Autowired
+    RefreshTokenRepository repository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @After
+    public void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    public void saveIsASingleInsert() {
+        store.save("hash", "leandro", Instant.now().plusSeconds(60));
+
+        // Sem o SELECT que o merge faria para um id já preenchido
+        Assert.assertEquals(1, statistics.getEntityInsertCount());
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void tokenIsConsumedOnlyOnce() {
+        store.save("hash", "leandro", Instant.now().plusSeconds(60));
+
+        Assert.assertEquals("leandro", store.consume("hash", Instant.now()));
+        Assert.assertNull(store.consume("hash", Instant.now()));
+        Assert.assertEquals(0, repository.count());
+    }
+
+    @Test
+    public void expiredTokenIsRemovedAndRejected() {
+        store.save("hash", "leandro", Instant.now().minusSeconds(1));
+
+        Assert.assertNull(store.consume("hash", Instant.now()));
+        Assert.assertEquals(0, repository.count());
+    }
+
+    @Test
+    public void unknownTokenIsRejected() {
+        Assert.assertNull(store.consume("missing", Instant.now()));
+    }
+
+    @Test
+    public void concurrentConsumersGetTheTokenOnce() throws Exception {
+        int consumers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(consumers);
+        try {
+            for (int round = 0; round < 20; round++) {
+                String hash = "hash-" + round;
+                store.save(hash, "leandro", Instant.now().plusSeconds(60));
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<CompletableFuture<String>> results = new ArrayList<>();
+                for (int i = 0; i < consumers; i++) {
+                    results.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return store.consume(hash, Instant.now());
+                    }, executor));
+                }
+                start.countDown();
+
+                long winners = 0;
+                for (CompletableFuture<String> result : results) {
+                    if (Objects.equals("leandro", result.get(10, TimeUnit.SECONDS))) {
+                        winners++;
+                    }
+                }
+                Assert.assertEquals(1, winners);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void revokeAllAndRemoveExpiredDeleteInBulk() {
+        store.save("a", "leandro", Instant.now().plusSeconds(60));
+        store.save("b", "leandro", Instant.now().plusSeconds(60));
+        store.save("c", "ayrton", Instant.now().minusSeconds(1));
+        store.save("d", "ayrton", Instant.now().plusSeconds(60));
+
+        store.revokeAll("leandro");
+        Assert.assertEquals(1, store.removeExpired(Instant.now()));
+
+        Assert.assertEquals("ayrton", store.consume("d", Instant.now()));
+        Assert.assertEquals(0, repository.count());
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.erudio.secutiry.jwt;
+
+import br.com.erudio.exception.InvalidJwtAuthenticationException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+
+public class JwtTokenProviderTest {
+
+    private JwtTokenProvider provider;
+
+    @Before
+    public void setUp() {
+        provider = provider(3600000);
+    }
+
+    @Test
+    public void verifiesTokenAndReturnsItsClaims() {
+        Claims claims = provider.verifyToken(provider.createToken("leandro", Collections.singletonList("ADMIN")));
+
+        Assert.assertEquals("leandro", claims.getSubject());
+        Assert.assertEquals(Collections.singletonList("ADMIN"), claims.get("roles"));
+    }
+
+    @Test
+    public void acceptsTokensSignedWithTheBase64EncodedKey() {
+        // Formato usado antes da chave pré-montada: tokens emitidos antes do deploy continuam válidos
+        String legacyToken = Jwts.builder()
+                .setSubject("leandro")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(SignatureAlgorithm.HS256, Base64.getEncoder().encodeToString("secret".getBytes()))
+                .compact();
+
+        Assert.assertEquals("leandro", provider.verifyToken(legacyToken).getSubject());
+    }
+
+    @Test
+    public void verifiesTheSameTokenOnlyOnce() {
+        String token = provider.createToken("leandro", Collections.singletonList("ADMIN"));
+
+        Assert.assertSame(provider.verifyToken(token), provider.verifyToken(token));
+    }
+
+    @Test
+    public void cachedTokenStillExpires() throws InterruptedException {
+        JwtTokenProvider shortLived = provider(2000);
+        String token = shortLived.createToken("leandro", Collections.singletonList("ADMIN"));
+        shortLived.verifyToken(token);
+
+        // exp tem precisão de segundos
+        Thread.sleep(2500);
+        try {
+            shortLived.verifyToken(token);
+            Assert.fail("expired token was accepted");
+        } catch (InvalidJwtAuthenticationException expected) {
+        }
+    }
+
+    @Test(expected = InvalidJwtAuthenticationException.class)
+    public void rejectsTamperedToken() {
+        String token = provider.createToken("leandro", Collections.singletonList("ADMIN"));
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\",\"roles\":[\"ADMIN\"],\"exp\":9999999999}".getBytes());
+
+        provider.verifyToken(parts[0] + "." + forgedPayload + "." + parts[2]);
+    }
+
+    private JwtTokenProvider provider(long validity) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "validityInMilliseconds", validity);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.erudio.secutiry.jwt;
+
+import br.com.erudio.exception.InvalidJwtAuthenticationException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+
+public class RefreshTokenServiceTest {
+
+    private InMemoryRefreshTokenStore store;
+    private RefreshTokenService service;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryRefreshTokenStore();
+        service = new RefreshTokenService();
+        service.store = store;
+        service.validityInMilliseconds = 60000;
+    }
+
+    @Test
+    public void tokenIsConsumedOnlyOnce() {
+        String token = service.create("leandro");
+
+        Assert.assertEquals("leandro", service.consume(token));
+        try {
+            service.consume(token);
+            Assert.fail();
+        } catch (InvalidJwtAuthenticationException e) {
+            Assert.assertEquals("Expired or invalid refresh token", e.getMessage());
+        }
+    }
+
+    @Test
+    public void storeKeepsOnlyTheHash() {
+        String token = service.create("leandro");
+
+        Assert.assertNull(store.consume(token, Instant.now()));
+        Assert.assertEquals("leandro", store.consume(JwtTokenProvider.sha256(token), Instant.now()));
+    }
+
+    @Test(expected = InvalidJwtAuthenticationException.class)
+    public void expiredTokenIsRejected() {
+        service.validityInMilliseconds = -1;
+        service.consume(service.create("leandro"));
+    }
+
+    @Test(expected = InvalidJwtAuthenticationException.class)
+    public void missingTokenIsRejected() {
+        service.consume(null);
+    }
+
+    @Test
+    public void revokeAllAndRemoveExpired() {
+        String leandro = service.create("leandro");
+        String flavio = service.create("flavio");
+        service.validityInMilliseconds = -1;
+        service.create("flavio");
+
+        Assert.assertEquals(1, store.removeExpired(Instant.now()));
+        service.revokeAll("flavio");
+
+        Assert.assertNull(store.consume(JwtTokenProvider.sha256(flavio), Instant.now()));
+        Assert.assertEquals("leandro", service.consume(leandro));
+    }
+}
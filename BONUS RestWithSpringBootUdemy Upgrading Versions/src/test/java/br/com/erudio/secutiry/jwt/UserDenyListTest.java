@@ -0,0 +1,127 @@
+package br.com.erudio.secutiry.jwt;
+
+import br.com.erudio.data.model.User;
+import br.com.erudio.repository.UserRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class UserDenyListTest {
+
+    private UserRepository userRepository;
+    private UserDenyList denyList;
+
+    @Before
+    public void setUp() {
+        userRepository = Mockito.mock(UserRepository.class);
+        denyList = new UserDenyList();
+        denyList.userRepository = userRepository;
+        denyList.stateless = true;
+    }
+
+    @Test
+    public void isNotTrustedBeforeTheFirstLoad() {
+        Assert.assertFalse(denyList.isLoaded());
+
+        Mockito.when(userRepository.findDeniedUserNames()).thenReturn(Arrays.asList("locked", "disabled"));
+        denyList.refresh();
+
+        Assert.assertTrue(denyList.isLoaded());
+        Assert.assertTrue(denyList.isDenied("locked"));
+        Assert.assertFalse(denyList.isDenied("leandro"));
+    }
+
+    @Test
+    public void appliesUserChangesWithoutWaitingForRefresh() {
+        Mockito.when(userRepository.findDeniedUserNames()).thenReturn(Collections.singletonList("disabled"));
+        denyList.refresh();
+
+        denyList.update(user("leandro", false));
+        denyList.update(user("disabled", true));
+
+        Assert.assertTrue(denyList.isDenied("leandro"));
+        Assert.assertFalse(denyList.isDenied("disabled"));
+    }
+
+    @Test
+    public void keepsChangesMadeWhileRefreshing() {
+        // A consulta enxergou o banco antes do commit que desativou o usuário
+        Mockito.when(userRepository.findDeniedUserNames()).thenAnswer(invocation -> {
+            denyList.update(user("leandro", false));
+            return Collections.emptyList();
+        });
+        denyList.refresh();
+
+        Assert.assertTrue(denyList.isDenied("leandro"));
+    }
+
+    @Test
+    public void removedUserStaysDeniedAcrossRefresh() {
+        Mockito.when(userRepository.findDeniedUserNames()).thenReturn(Collections.emptyList());
+        denyList.refresh();
+
+        // O usuário estava ativo quando foi removido e não existe mais para a consulta da recarga
+        denyList.remove("leandro");
+        denyList.refresh();
+
+        Assert.assertTrue(denyList.isDenied("leandro"));
+    }
+
+    @Test
+    public void removedUserIsDeniedWhenRemovedDuringRefresh() {
+        Mockito.when(userRepository.findDeniedUserNames()).thenAnswer(invocation -> {
+            denyList.remove("leandro");
+            return Collections.emptyList();
+        });
+        denyList.refresh();
+
+        Assert.assertTrue(denyList.isDenied("leandro"));
+    }
+
+    @Test
+    public void recreatedUserIsAllowedAgain() {
+        Mockito.when(userRepository.findDeniedUserNames()).thenReturn(Collections.emptyList());
+        denyList.refresh();
+
+        denyList.remove("leandro");
+        denyList.update(user("leandro", true));
+        denyList.refresh();
+
+        Assert.assertFalse(denyList.isDenied("leandro"));
+    }
+
+    @Test
+    public void removedUserIsForgottenOnceItsTokensExpire() throws InterruptedException {
+        Mockito.when(userRepository.findDeniedUserNames()).thenReturn(Collections.emptyList());
+        denyList.tokenValidityInMilliseconds = 1;
+        denyList.remove("leandro");
+        Thread.sleep(5);
+
+        denyList.refresh();
+
+        Assert.assertFalse(denyList.isDenied("leandro"));
+    }
+
+    @Test
+    public void doesNothingWhenStatelessModeIsOff() {
+        denyList.stateless = false;
+        denyList.refresh();
+
+        Assert.assertFalse(denyList.isLoaded());
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
+    private User user(String userName, boolean enabled) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setEnabled(enabled);
+        user.setAccountNonLocked(true);
+        user.setAccountNonExpired(true);
+        user.setCredentialsNonExpired(true);
+        return user;
+    }
+}
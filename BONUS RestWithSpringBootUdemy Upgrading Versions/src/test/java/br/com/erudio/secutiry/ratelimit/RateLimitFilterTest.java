@@ -0,0 +1,167 @@
+package br.com.erudio.secutiry.ratelimit;
+
+import br.com.erudio.exception.InvalidJwtAuthenticationException;
+import br.com.erudio.secutiry.jwt.JwtTokenProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+public class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JwtTokenProvider tokenProvider;
+    private RateLimitProperties properties;
+
+    @Before
+    public void setUp() {
+        tokenProvider = Mockito.mock(JwtTokenProvider.class);
+        Mockito.when(tokenProvider.resolveToken(ArgumentMatchers.any())).thenCallRealMethod();
+        Mockito.when(tokenProvider.verifyToken(ArgumentMatchers.anyString())).thenAnswer(invocation -> {
+            String token = invocation.getArgument(0);
+            if (token.startsWith("invalid")) {
+                throw new InvalidJwtAuthenticationException("Expired or invalid token");
+            }
+            return Jwts.claims().setSubject(token);
+        });
+        properties = new RateLimitProperties();
+    }
+
+    @Test
+    public void rejectsWithRetryAfterWhenTheBucketIsEmpty() throws Exception {
+        group("auth", RateLimitProperties.KeyType.IP, 2, "/auth/**");
+        RateLimitFilter filter = new RateLimitFilter(properties, tokenProvider, objectMapper);
+
+        Assert.assertEquals(200, send(filter, "/auth/signin", "10.0.0.1", null).getStatus());
+        Assert.assertEquals(200, send(filter, "/auth/signin", "10.0.0.1", null).getStatus());
+        MockHttpServletResponse rejected = send(filter, "/auth/signin", "10.0.0.1", null);
+
+        Assert.assertEquals(429, rejected.getStatus());
+        // Um token a cada 30s: arredondado para cima, em segundos
+        int retryAfter = Integer.parseInt(rejected.getHeader("Retry-After"));
+        Assert.assertTrue(String.valueOf(retryAfter), retryAfter >= 1 && retryAfter <= 30);
+        JsonNode body = objectMapper.readTree(rejected.getContentAsString());
+        Assert.assertEquals(429, body.get("status").asInt());
+        Assert.assertEquals("uri=/auth/signin", body.get("details").asText());
+        // Outro ip tem o próprio balde
+        Assert.assertEquals(200, send(filter, "/auth/signin", "10.0.0.2", null).getStatus());
+    }
+
+    @Test
+    public void mostSpecificGroupWins() throws Exception {
+        group("import", RateLimitProperties.KeyType.USER, 1, "/api/file/v1/import/*");
+        group("api", RateLimitProperties.KeyType.USER, 100, "/api/**");
+        RateLimitFilter filter = new RateLimitFilter(properties, tokenProvider, objectMapper);
+
+        Assert.assertEquals(200, send(filter, "/api/file/v1/import/person", "10.0.0.1", "leandro").getStatus());
+        Assert.assertEquals(429, send(filter, "/api/file/v1/import/person", "10.0.0.1", "leandro").getStatus());
+        // O grupo import não consome do grupo api
+        Assert.assertEquals(200, send(filter, "/api/person/v1", "10.0.0.1", "leandro").getStatus());
+    }
+
+    @Test
+    public void refreshHasItsOwnBucket() throws Exception {
+        group("auth-refresh", RateLimitProperties.KeyType.IP, 100, "/auth/refresh");
+        group("auth", RateLimitProperties.KeyType.IP, 1, "/auth/**");
+        RateLimitFilter filter = new RateLimitFilter(properties, tokenProvider, objectMapper);
+
+        Assert.assertEquals(200, send(filter, "/auth/signin", "10.0.0.1", null).getStatus());
+        Assert.assertEquals(429, send(filter, "/auth/signin", "10.0.0.1", null).getStatus());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(200, send(filter, "/auth/refresh", "10.0.0.1", null).getStatus());
+        }
+    }
+
+    @Test
+    public void declarationOrderDoesNotDecideTheGroup() throws Exception {
+        // Como quando uma variável de ambiente redefine auth e ele passa a vir antes no mapa
+        group("auth", RateLimitProperties.KeyType.IP, 1, "/auth/**");
+        group("auth-refresh", RateLimitProperties.KeyType.IP, 100, "/auth/refresh");
+        group("api", RateLimitProperties.KeyType.USER, 100, "/api/**");
+        group("import", RateLimitProperties.KeyType.USER, 1, "/api/file/v1/import/*");
+        RateLimitFilter filter = new RateLimitFilter(properties, tokenProvider, objectMapper);
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(200, send(filter, "/auth/refresh", "10.0.0.1", null).getStatus());
+        }
+        Assert.assertEquals(200, send(filter, "/auth/signin", "10.0.0.1", null).getStatus());
+        Assert.assertEquals(429, send(filter, "/auth/signin", "10.0.0.1", null).getStatus());
+        Assert.assertEquals(200, send(filter, "/api/file/v1/import/person", "10.0.0.1", "leandro").getStatus());
+        Assert.assertEquals(429, send(filter, "/api/file/v1/import/person", "10.0.0.1", "leandro").getStatus());
+    }
+
+    @Test
+    public void userKeySeparatesUsersBehindTheSameAddress() throws Exception {
+        group("api", RateLimitProperties.KeyType.USER, 1, "/api/**");
+        RateLimitFilter filter = new RateLimitFilter(properties, tokenProvider, objectMapper);
+
+        Assert.assertEquals(200, send(filter, "/api/person/v1", "10.0.0.1", "leandro").getStatus());
+        Assert.assertEquals(200, send(filter, "/api/person/v1", "10.0.0.1", "ayrton").getStatus());
+        Assert.assertEquals(429, send(filter, "/api/person/v1", "10.0.0.2", "leandro").getStatus());
+    }
+
+    @Test
+    public void invalidOrMissingTokenFallsBackToTheAddress() throws Exception {
+        group("api", RateLimitProperties.KeyType.USER, 1, "/api/**");
+        RateLimitFilter filter = new RateLimitFilter(properties, tokenProvider, objectMapper);
+
+        Assert.assertEquals(200, send(filter, "/api/person/v1", "10.0.0.1", "invalid-1").getStatus());
+        // Trocar de token inválido não dá um balde novo
+        Assert.assertEquals(429, send(filter, "/api/person/v1", "10.0.0.1", "invalid-2").getStatus());
+        Assert.assertEquals(429, send(filter, "/api/person/v1", "10.0.0.1", null).getStatus());
+        // Um token válido continua com o próprio balde
+        Assert.assertEquals(200, send(filter, "/api/person/v1", "10.0.0.1", "leandro").getStatus());
+    }
+
+    @Test
+    public void unmatchedPathIsNotLimited() throws Exception {
+        group("api", RateLimitProperties.KeyType.IP, 1, "/api/**");
+        RateLimitFilter filter = new RateLimitFilter(properties, tokenProvider, objectMapper);
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(200, send(filter, "/actuator/health", "10.0.0.1", null).getStatus());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void groupWithoutPatternsIsRejected() {
+        group("empty", RateLimitProperties.KeyType.IP, 1);
+        new RateLimitFilter(properties, tokenProvider, objectMapper);
+    }
+
+    private void group(String name, RateLimitProperties.KeyType key, long capacity, String... patterns) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setPatterns(List.of(patterns));
+        group.setKey(key);
+        group.setCapacity(capacity);
+        group.setRefillTokens(capacity);
+        group.setRefillPeriod(Duration.ofMinutes(1));
+        properties.getGroups().put(name, group);
+    }
+
+    private MockHttpServletResponse send(RateLimitFilter filter, String path, String address, String token)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(address);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        // A requisição recusada não segue para o resto da cadeia
+        Assert.assertEquals(response.getStatus() != 429, chain.getRequest() != null);
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.erudio.secutiry.ratelimit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, SECOND);
+        AtomicLong state = bucket.newState(0);
+
+        Assert.assertEquals(0, bucket.tryConsume(state, 0));
+        Assert.assertEquals(0, bucket.tryConsume(state, 0));
+        Assert.assertEquals(0, bucket.tryConsume(state, 0));
+        Assert.assertEquals(SECOND, bucket.tryConsume(state, 0));
+    }
+
+    @Test
+    public void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 2, SECOND);
+        AtomicLong state = bucket.newState(0);
+        bucket.tryConsume(state, 0);
+        bucket.tryConsume(state, 0);
+
+        Assert.assertEquals(SECOND / 4, bucket.tryConsume(state, SECOND / 4));
+        Assert.assertEquals(0, bucket.tryConsume(state, SECOND / 2));
+        Assert.assertTrue(bucket.tryConsume(state, SECOND / 2) > 0);
+
+        // Parado por muito tempo o balde não passa da capacidade
+        long later = 10 * SECOND;
+        Assert.assertEquals(0, bucket.tryConsume(state, later));
+        Assert.assertEquals(0, bucket.tryConsume(state, later));
+        Assert.assertTrue(bucket.tryConsume(state, later) > 0);
+        Assert.assertEquals(SECOND, bucket.refillNanos());
+    }
+
+    @Test
+    public void concurrentCallersNeverExceedCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1000, 1, TimeUnit.HOURS.toNanos(1));
+        AtomicLong state = bucket.newState(0);
+        AtomicInteger allowed = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryConsume(state, 0) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(1000, allowed.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidConfiguration() {
+        new TokenBucket(0, 1, SECOND);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.erudio.seed;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class DataSeederTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private DataSeeder seeder;
+
+    @Before
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_name VARCHAR(255) UNIQUE, " +
+                "full_name VARCHAR(255), password VARCHAR(255), account_non_expired BOOLEAN, account_non_locked BOOLEAN, " +
+                "credentials_non_expired BOOLEAN, enabled BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE permission (id BIGINT AUTO_INCREMENT PRIMARY KEY, description VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE user_permission (id_user BIGINT, id_permission BIGINT, PRIMARY KEY (id_user, id_permission))");
+        jdbcTemplate.update("INSERT INTO permission (description) VALUES ('COMMON_USER')");
+        // Casaria com "seed_42_%" se o "_" não fosse escapado
+        jdbcTemplate.update("INSERT INTO users (user_name) VALUES ('seedX42Xdecoy')");
+
+        SeedProperties properties = new SeedProperties();
+        properties.setUsers(3);
+        properties.setBatchSize(2);
+        properties.setExitWhenDone(false);
+
+        seeder = new DataSeeder();
+        seeder.properties = properties;
+        seeder.jdbcTemplate = jdbcTemplate;
+        // Custo mínimo do BCrypt: o seed codifica a senha uma única vez
+        seeder.passwordEncoder = new BCryptPasswordEncoder(4);
+    }
+
+    @After
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    public void rerunWithSameSeedAppendsUsers() {
+        seeder.run(null);
+        seeder.run(null);
+
+        Assert.assertEquals(Integer.valueOf(6),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE user_name LIKE 'seed!_42!_%' ESCAPE '!'", Integer.class));
+        Assert.assertEquals(Integer.valueOf(6), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_permission", Integer.class));
+        Assert.assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_permission up JOIN users u ON u.id = up.id_user WHERE u.user_name = 'seedX42Xdecoy'",
+                Integer.class));
+    }
+
+    @Test
+    public void likePrefixEscapesWildcards() {
+        Assert.assertEquals("seed!_42!_%", DataSeeder.likePrefix("seed_42_"));
+        Assert.assertEquals("a!%b!!c%", DataSeeder.likePrefix("a%b!c"));
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.erudio.seed;
+
+import br.com.erudio.search.SearchText;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class SyntheticRowsTest {
+
+    @Test
+    public void sameSeedProducesSameRows() {
+        SyntheticRows first = new SyntheticRows(42);
+        SyntheticRows second = new SyntheticRows(42);
+        for (long id = 1; id <= 100; id++) {
+            Assert.assertArrayEquals(first.person(id), second.person(id));
+            Assert.assertArrayEquals(first.book(id), second.book(id));
+        }
+    }
+
+    @Test
+    public void differentSeedsProduceDifferentRows() {
+        SyntheticRows first = new SyntheticRows(1);
+        SyntheticRows second = new SyntheticRows(2);
+        boolean differs = false;
+        for (long id = 1; id <= 10 && !differs; id++) {
+            differs = !Arrays.equals(first.person(id), second.person(id));
+        }
+        Assert.assertTrue(differs);
+    }
+
+    @Test
+    public void personRowsFitTheColumns() {
+        Object[] person = new SyntheticRows(42).person(7);
+        Assert.assertEquals(7L, person[0]);
+        Assert.assertTrue(((String) person[1]).length() <= 100);
+        Assert.assertEquals(SearchText.normalize((String) person[2]), person[3]);
+        Assert.assertTrue("Male".equals(person[4]) || "Female".equals(person[4]));
+    }
+}
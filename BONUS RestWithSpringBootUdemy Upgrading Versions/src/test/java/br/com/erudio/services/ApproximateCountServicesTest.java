@@ -0,0 +1,55 @@
+package br.com.erudio.services;
+
+import br.com.erudio.repository.BookRepository;
+import br.com.erudio.repository.PersonRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.Collections;
+
+public class ApproximateCountServicesTest {
+
+    private ApproximateCountServices services;
+
+    @Before
+    public void setUp() {
+        services = new ApproximateCountServices();
+        services.jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        services.personRepository = Mockito.mock(PersonRepository.class);
+        services.bookRepository = Mockito.mock(BookRepository.class);
+    }
+
+    @Test
+    public void usesTableStatisticsWithoutCounting() {
+        Mockito.when(services.jdbcTemplate.queryForList(ArgumentMatchers.anyString(), ArgumentMatchers.eq(Long.class), ArgumentMatchers.eq("person")))
+                .thenReturn(Collections.singletonList(1000000L));
+        Mockito.when(services.jdbcTemplate.queryForList(ArgumentMatchers.anyString(), ArgumentMatchers.eq(Long.class), ArgumentMatchers.eq("books")))
+                .thenReturn(Collections.singletonList(500L));
+
+        services.refresh();
+
+        Assert.assertEquals(Long.valueOf(1000000), services.getPersonCount());
+        Assert.assertEquals(Long.valueOf(500), services.getBookCount());
+        Mockito.verify(services.personRepository, Mockito.never()).count();
+        Mockito.verify(services.bookRepository, Mockito.never()).count();
+    }
+
+    @Test
+    public void fallsBackToExactCountWithoutStatistics() {
+        Mockito.when(services.jdbcTemplate.queryForList(ArgumentMatchers.anyString(), ArgumentMatchers.eq(Long.class), ArgumentMatchers.anyString()))
+                .thenThrow(new BadSqlGrammarException("estimate", "SELECT", new SQLException("no DATABASE()")));
+        Mockito.when(services.personRepository.count()).thenReturn(3L);
+        Mockito.when(services.bookRepository.count()).thenReturn(4L);
+
+        services.refresh();
+
+        Assert.assertEquals(Long.valueOf(3), services.getPersonCount());
+        Assert.assertEquals(Long.valueOf(4), services.getBookCount());
+    }
+}
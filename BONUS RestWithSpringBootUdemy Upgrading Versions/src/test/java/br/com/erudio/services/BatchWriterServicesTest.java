@@ -0,0 +1,59 @@
+package br.com.erudio.services;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class BatchWriterServicesTest {
+
+    private BatchWriterServices services;
+
+    @Before
+    public void setUp() {
+        services = new BatchWriterServices();
+        services.transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        ReflectionTestUtils.setField(services, "chunkSize", 3);
+    }
+
+    @Test
+    public void updateMatchingReadsOneChunkAtATime() {
+        List<Long> matching = LongStream.rangeClosed(1, 7).map(i -> i * 10).boxed().collect(Collectors.toList());
+        List<Long> afterIds = new ArrayList<>();
+        List<List<Long>> chunks = new ArrayList<>();
+
+        int affected = services.updateMatching((lastId, size) -> {
+            afterIds.add(lastId);
+            return matching.stream().filter(id -> id > lastId).limit(size).collect(Collectors.toList());
+        }, chunk -> {
+            chunks.add(chunk);
+            return chunk.size();
+        });
+
+        Assert.assertEquals(7, affected);
+        Assert.assertEquals(List.of(0L, 30L, 60L), afterIds);
+        Assert.assertEquals(List.of(List.of(10L, 20L, 30L), List.of(40L, 50L, 60L), List.of(70L)), chunks);
+        // Um bloco por transação
+        Mockito.verify(services.transactionManager, Mockito.times(3)).commit(Mockito.any());
+    }
+
+    @Test
+    public void updateMatchingStopsOnEmptyChunk() {
+        List<Long> afterIds = new ArrayList<>();
+
+        int affected = services.updateMatching((lastId, size) -> {
+            afterIds.add(lastId);
+            return lastId == 0L ? List.of(1L, 2L, 3L) : List.of();
+        }, List::size);
+
+        Assert.assertEquals(3, affected);
+        Assert.assertEquals(List.of(0L, 3L), afterIds);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.erudio.services;
+
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.vo.v1.BatchResultVO;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.repository.BookRepository;
+import br.com.erudio.search.SearchIndexEntityListener;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Sem a transação do teste: cada bloco do createAll confirma a própria transação
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "search.index.enabled=false"
+})
+@Import({ CacheConfig.class, BookServices.class, SearchIndexServices.class, BatchWriterServices.class,
+        SearchIndexEntityListener.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BookServicesBatchTest {
+
+    @Autowired
+    BookServices bookServices;
+
+    @Autowired
+    BookRepository repository;
+
+    @After
+    public void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    public void createAllIgnoresClientIdAndVersion() {
+        BookVO book = new BookVO();
+        book.setKey(999L);
+        book.setVersion(7L);
+        book.setTitle("Clean Code");
+        book.setAuthor("Robert C. Martin");
+        book.setLaunchDate(LocalDate.of(2008, 8, 1));
+        book.setPrice(BigDecimal.TEN);
+
+        BatchResultVO result = bookServices.createAll(List.of(book));
+
+        Assert.assertEquals(1, result.getSucceeded());
+        Long id = result.getItems().get(0).getKey();
+        Assert.assertNotEquals(Long.valueOf(999), id);
+        Book saved = repository.findById(id).orElseThrow();
+        Assert.assertEquals(Long.valueOf(0), saved.getVersion());
+        Assert.assertEquals("Clean Code", saved.getTitle());
+    }
+}
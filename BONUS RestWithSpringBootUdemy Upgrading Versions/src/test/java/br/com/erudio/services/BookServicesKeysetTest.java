@@ -0,0 +1,125 @@
+package br.com.erudio.services;
+
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.pagination.KeysetCursor;
+import br.com.erudio.pagination.KeysetSlice;
+import br.com.erudio.search.SearchIndexEntityListener;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Livros sem título (a coluna aceita NULL) precisam aparecer uma única vez, no começo da ordenação ascendente
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "search.index.enabled=false"
+})
+@Import({ CacheConfig.class, BookServices.class, SearchIndexServices.class, BatchWriterServices.class,
+        SearchIndexEntityListener.class })
+public class BookServicesKeysetTest {
+
+    @Autowired
+    BookServices bookServices;
+
+    @Autowired
+    EntityManager entityManager;
+
+    private final List<Long> ascending = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        // Ordem esperada: (title, id) com NULL antes de qualquer texto
+        List<Long> nulls = new ArrayList<>();
+        List<Long> titled = new ArrayList<>();
+        for (String title : Arrays.asList("Beta", null, "Alpha", null, "Alpha", null)) {
+            Long id = persist(title);
+            (title == null ? nulls : titled).add(id);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ascending.addAll(nulls);
+        ascending.add(titled.get(1));
+        ascending.add(titled.get(2));
+        ascending.add(titled.get(0));
+    }
+
+    @Test
+    public void walksForwardThroughNullTitles() {
+        Assert.assertEquals(ascending, walkForward(Sort.Direction.ASC));
+    }
+
+    @Test
+    public void walksForwardDescendingThroughNullTitles() {
+        List<Long> descending = new ArrayList<>(ascending);
+        Collections.reverse(descending);
+
+        Assert.assertEquals(descending, walkForward(Sort.Direction.DESC));
+    }
+
+    @Test
+    public void walksBackFromTheLastPage() {
+        List<Long> visited = new ArrayList<>();
+        KeysetSlice<BookVO> slice = bookServices.findAllByCursor(null, 4, Sort.Direction.ASC);
+        slice = bookServices.findAllByCursor(next(slice), 4, Sort.Direction.ASC);
+        ids(slice).forEach(visited::add);
+        while (slice.hasPrevious()) {
+            BookVO first = slice.getFirst();
+            KeysetCursor previous = KeysetCursor.decode(KeysetCursor.before(first.getTitle(), first.getKey()).encode());
+            slice = bookServices.findAllByCursor(previous, 2, Sort.Direction.ASC);
+            visited.addAll(0, ids(slice));
+        }
+
+        Assert.assertEquals(ascending, visited);
+    }
+
+    private List<Long> walkForward(Sort.Direction direction) {
+        List<Long> visited = new ArrayList<>();
+        KeysetSlice<BookVO> slice = bookServices.findAllByCursor(null, 2, direction);
+        visited.addAll(ids(slice));
+        while (slice.hasNext()) {
+            slice = bookServices.findAllByCursor(next(slice), 2, direction);
+            visited.addAll(ids(slice));
+        }
+        return visited;
+    }
+
+    // Mesmo caminho do controller: o cursor passa por encode/decode
+    private KeysetCursor next(KeysetSlice<BookVO> slice) {
+        BookVO last = slice.getLast();
+        return KeysetCursor.decode(KeysetCursor.after(last.getTitle(), last.getKey()).encode());
+    }
+
+    private List<Long> ids(KeysetSlice<BookVO> slice) {
+        List<Long> ids = new ArrayList<>();
+        slice.getContent().forEach(vo -> ids.add(vo.getKey()));
+        return ids;
+    }
+
+    private Long persist(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Author");
+        book.setLaunchDate(LocalDate.of(2020, 1, 1));
+        book.setPrice(BigDecimal.TEN);
+        entityManager.persist(book);
+        return book.getId();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.export.ExportFormat;
+import br.com.erudio.repository.BookRepository;
+import br.com.erudio.repository.PersonRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.hateoas.Link;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public class ExportServicesTest {
+
+    private ExportServices services;
+
+    @Before
+    public void setUp() {
+        services = new ExportServices();
+        services.personRepository = Mockito.mock(PersonRepository.class);
+        services.bookRepository = Mockito.mock(BookRepository.class);
+        services.objectMapper = new ObjectMapper();
+        // Menor que o número de linhas para passar pelo flush no meio da exportação
+        services.flushEvery = 2;
+        services.timeout = 60000;
+        services.init();
+
+        Mockito.when(services.personRepository.streamAllVOs()).thenAnswer(invocation -> Stream.of(
+                person(1L, "Ayrton", "Senna"), person(2L, "Alain", "Prost"), person(3L, "Nelson", "Piquet")));
+        Mockito.when(services.bookRepository.streamAllVOs()).thenAnswer(invocation -> Stream.of(
+                new BookVO(1L, "Michael C. Feathers", LocalDate.of(2017, 11, 29), new BigDecimal("49.00"),
+                        "Working effectively with legacy code")));
+    }
+
+    @Test
+    public void ndjsonWritesOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertEquals(3, services.exportPersons(ExportFormat.NDJSON, out));
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        Assert.assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        Assert.assertEquals(3, lines.length);
+
+        ObjectMapper mapper = new ObjectMapper();
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode node = mapper.readTree(lines[i]);
+            Assert.assertEquals(i + 1, node.get("id").asInt());
+            Assert.assertFalse(node.has("links"));
+        }
+        Assert.assertEquals("Prost", mapper.readTree(lines[1]).get("lastName").asText());
+    }
+
+    @Test
+    public void csvHasHeaderWithoutLinks() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertEquals(3, services.exportPersons(ExportFormat.CSV, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assert.assertEquals(4, lines.length);
+        Assert.assertEquals("id,firstName,lastName,address,gender,enabled", lines[0]);
+        Assert.assertEquals("1,Ayrton,Senna,\"São Paulo\",Male,true", lines[1]);
+    }
+
+    @Test
+    public void csvWritesBookDatesAsText() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertEquals(1, services.exportBooks(ExportFormat.CSV, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assert.assertEquals("id,author,launchDate,price,title", lines[0]);
+        Assert.assertTrue(lines[1], lines[1].contains("2017-11-29"));
+    }
+
+    @Test
+    public void yamlWritesASequenceWithoutLinks() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertEquals(3, services.exportPersons(ExportFormat.YAML, out));
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        Assert.assertFalse(body.contains("links"));
+        JsonNode items = new YAMLMapper().readTree(body);
+        Assert.assertTrue(items.isArray());
+        Assert.assertEquals(3, items.size());
+        Assert.assertEquals("Nelson", items.get(2).get("firstName").asText());
+    }
+
+    @Test
+    public void emptyNdjsonExportWritesNothing() throws IOException {
+        Mockito.when(services.personRepository.streamAllVOs()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Assert.assertEquals(0, services.exportPersons(ExportFormat.NDJSON, out));
+        Assert.assertEquals(0, out.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveFlushInterval() {
+        ExportServices invalid = new ExportServices();
+        invalid.flushEvery = 0;
+        invalid.timeout = 60000;
+        invalid.init();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveTimeout() {
+        ExportServices invalid = new ExportServices();
+        invalid.flushEvery = 1000;
+        invalid.timeout = 0;
+        invalid.init();
+    }
+
+    private PersonVO person(Long id, String firstName, String lastName) {
+        PersonVO vo = new PersonVO(id, firstName, lastName, "São Paulo", "Male", true);
+        vo.add(Link.of("/api/person/v1/" + id));
+        return vo;
+    }
+}
@@ -0,0 +1,188 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.vo.v1.ImportJobVO;
+import br.com.erudio.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// JDBC de verdade num H2 embarcado; armazenamento de arquivos, sequências e índice de busca são dublês
+public class ImportServicesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ImportServices services;
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @Before
+    public void setUp() throws IOException {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        // O CHECK faz o banco recusar uma linha que passou pela validação da aplicação
+        jdbcTemplate.execute("CREATE TABLE person (id BIGINT PRIMARY KEY, address VARCHAR(100), first_name VARCHAR(80), " +
+                "first_name_search VARCHAR(80), gender VARCHAR(6), last_name VARCHAR(80), enabled BOOLEAN, version BIGINT, " +
+                "CHECK (first_name <> 'Broken'))");
+
+        services = new ImportServices();
+        services.jdbcTemplate = jdbcTemplate;
+        services.transactionManager = new DataSourceTransactionManager(database);
+        services.objectMapper = new ObjectMapper();
+        services.searchIndex = Mockito.mock(SearchIndexServices.class);
+        services.sequenceServices = Mockito.mock(SequenceServices.class);
+        Mockito.when(services.sequenceServices.reserve(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong()))
+                .thenAnswer(invocation -> nextId.getAndAdd(invocation.getArgument(1)));
+        services.fileStorageServices = Mockito.mock(FileStorageServices.class);
+        Mockito.when(services.fileStorageServices.storeImportFile(ArgumentMatchers.any(), ArgumentMatchers.anyString()))
+                .thenAnswer(invocation -> {
+                    Path stored = folder.getRoot().toPath().resolve((String) invocation.getArgument(1));
+                    Files.write(stored, ((MultipartFile) invocation.getArgument(0)).getBytes());
+                    return stored;
+                });
+
+        ReflectionTestUtils.setField(services, "chunkSize", 2);
+        ReflectionTestUtils.setField(services, "threads", 1);
+        ReflectionTestUtils.setField(services, "queueCapacity", 1);
+        ReflectionTestUtils.setField(services, "maxErrors", 10);
+        ReflectionTestUtils.setField(services, "jobRetentionMinutes", 60L);
+        services.init();
+    }
+
+    @After
+    public void tearDown() {
+        services.destroy();
+        database.shutdown();
+    }
+
+    @Test
+    public void writesValidRowsInChunks() throws InterruptedException {
+        ImportJobVO job = await(services.submit("person", ndjson(
+                person("Ayrton"), person("Alain"), person("Nelson"), person("Nigel"), person("Emerson")), null));
+
+        Assert.assertEquals("COMPLETED", job.getStatus());
+        Assert.assertEquals(5, job.getRowsImported());
+        Assert.assertEquals(0, job.getRowsRejected());
+        Assert.assertEquals(Integer.valueOf(5), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person", Integer.class));
+        // Blocos de 2, 2 e 1: uma reserva de ids por bloco
+        Mockito.verify(services.sequenceServices, Mockito.times(2)).reserve("person", 2);
+        Mockito.verify(services.sequenceServices).reserve("person", 1);
+        Mockito.verify(services.searchIndex).indexPerson(1L, "Ayrton");
+        Mockito.verify(services.fileStorageServices, Mockito.timeout(5000)).deleteImportFile(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void retriesRowByRowAfterRejectedChunk() throws InterruptedException {
+        ImportJobVO job = await(services.submit("person", ndjson(
+                person("Ayrton"), person("Broken"), person("Nelson")), null));
+
+        Assert.assertEquals("COMPLETED", job.getStatus());
+        Assert.assertEquals(2, job.getRowsImported());
+        Assert.assertEquals(1, job.getRowsRejected());
+        Assert.assertTrue(job.getErrors().get(0), job.getErrors().get(0).startsWith("row 2: "));
+        Assert.assertEquals(List.of("Ayrton", "Nelson"),
+                jdbcTemplate.queryForList("SELECT first_name FROM person ORDER BY id", String.class));
+    }
+
+    @Test
+    public void rejectsInvalidRowsAndKeepsGoing() throws InterruptedException {
+        ImportJobVO job = await(services.submit("person", ndjson(
+                person("Ayrton"),
+                "{\"firstName\":\"\",\"lastName\":\"Senna\",\"address\":\"São Paulo\",\"gender\":\"Male\"}",
+                "{\"firstName\":\"Alain\",\"lastName\":\"Prost\",\"address\":\"Lorette\",\"gender\":\"Male\",\"enabled\":\"maybe\"}",
+                person("Nelson")), null));
+
+        Assert.assertEquals("COMPLETED", job.getStatus());
+        Assert.assertEquals(4, job.getRowsRead());
+        Assert.assertEquals(2, job.getRowsImported());
+        Assert.assertEquals(2, job.getRowsRejected());
+        Assert.assertEquals("row 2: firstName is required", job.getErrors().get(0));
+        Assert.assertTrue(job.getErrors().get(1), job.getErrors().get(1).startsWith("row 3: "));
+    }
+
+    @Test
+    public void syntaxErrorFailsTheJob() throws InterruptedException {
+        ImportJobVO job = await(services.submit("person", ndjson(person("Ayrton"), person("Alain"), "{\"firstName\": "), null));
+
+        Assert.assertEquals("FAILED", job.getStatus());
+        // O bloco completo antes do erro já estava gravado
+        Assert.assertEquals(2, job.getRowsImported());
+        Assert.assertEquals(1, job.getErrors().size());
+        // O arquivo é apagado logo depois de o status ser publicado
+        Mockito.verify(services.fileStorageServices, Mockito.timeout(5000)).deleteImportFile(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void fullQueueAnswersServiceUnavailable() throws InterruptedException {
+        // A primeira importação segura a única thread; a segunda ocupa a única vaga da fila
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        Mockito.when(services.sequenceServices.reserve(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong()))
+                .thenAnswer(invocation -> {
+                    running.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return nextId.getAndAdd(invocation.getArgument(1));
+                });
+        ImportJobVO first = services.submit("person", ndjson(person("Ayrton")), null);
+        Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+        ImportJobVO second = services.submit("person", ndjson(person("Alain")), null);
+        Assert.assertEquals("QUEUED", services.findJob(second.getId()).getStatus());
+
+        try {
+            services.submit("person", ndjson(person("Nelson")), null);
+            Assert.fail("Expected the import to be rejected");
+        } catch (ServiceUnavailableException e) {
+            // O arquivo da importação recusada não fica para trás
+            Mockito.verify(services.fileStorageServices, Mockito.times(1)).deleteImportFile(ArgumentMatchers.any());
+        } finally {
+            release.countDown();
+        }
+
+        Assert.assertEquals("COMPLETED", await(first).getStatus());
+        Assert.assertEquals("COMPLETED", await(second).getStatus());
+    }
+
+    private ImportJobVO await(ImportJobVO submitted) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ImportJobVO job = services.findJob(submitted.getId());
+        while (("QUEUED".equals(job.getStatus()) || "RUNNING".equals(job.getStatus()))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = services.findJob(submitted.getId());
+        }
+        return job;
+    }
+
+    private MultipartFile ndjson(String... lines) {
+        return new MockMultipartFile("file", "people.ndjson", "application/x-ndjson",
+                String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String person(String firstName) {
+        return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Test\",\"address\":\"Somewhere\",\"gender\":\"Male\"}";
+    }
+}
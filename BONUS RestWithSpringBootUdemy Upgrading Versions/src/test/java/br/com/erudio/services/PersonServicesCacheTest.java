@@ -0,0 +1,160 @@
+package br.com.erudio.services;
+
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.data.model.Person;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exception.PreconditionFailedException;
+import br.com.erudio.search.SearchIndexEntityListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.hateoas.Link;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+// Sem a transação do teste: o cache é transacional e só grava/remove depois de um commit de verdade
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "search.index.enabled=false",
+        "cache.persons.spec=maximumSize=10",
+        "cache.books.spec=maximumSize=10",
+        "cache.users.spec=maximumSize=10",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({ CacheConfig.class, PersonServices.class, SearchIndexServices.class, BatchWriterServices.class,
+        SearchIndexEntityListener.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PersonServicesCacheTest {
+
+    @Autowired
+    PersonServices personServices;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private Long personId;
+
+    @Before
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaction.executeWithoutResult(status -> {
+            Person person = new Person();
+            person.setFirstName("Ayrton");
+            person.setLastName("Senna");
+            person.setAddress("São Paulo");
+            person.setGender("Male");
+            person.setEnabled(true);
+            entityManager.persist(person);
+            personId = person.getId();
+        });
+        cache().clear();
+    }
+
+    @After
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> entityManager.remove(entityManager.find(Person.class, personId)));
+        cache().clear();
+    }
+
+    @Test
+    public void secondLookupIsServedFromCache() {
+        personServices.findById(personId);
+        statistics.clear();
+        PersonVO vo = personServices.findById(personId);
+
+        Assert.assertEquals(0, statistics.getEntityLoadCount());
+        Assert.assertEquals("Ayrton", vo.getFirstName());
+        Assert.assertEquals(Long.valueOf(0), vo.getVersion());
+    }
+
+    @Test
+    public void cacheHoldsVOsAndHandsOutCopies() {
+        PersonVO first = personServices.findById(personId);
+        first.add(Link.of("/api/person/v1/" + personId));
+        first.setFirstName("Changed");
+
+        Assert.assertTrue(cache().get(personId).get() instanceof PersonVO);
+        PersonVO second = personServices.findById(personId);
+        Assert.assertEquals("Ayrton", second.getFirstName());
+        Assert.assertTrue(second.getLinks().isEmpty());
+    }
+
+    @Test
+    public void updatingPersonEvictsIt() {
+        PersonVO vo = personServices.findById(personId);
+        vo.setFirstName("Alain");
+        personServices.update(vo, vo.getVersion());
+
+        Assert.assertNull(cache().get(personId));
+        Assert.assertEquals("Alain", personServices.findById(personId).getFirstName());
+    }
+
+    @Test
+    public void updateReturnsTheNewVersion() {
+        PersonVO vo = personServices.findById(personId);
+        vo.setFirstName("Alain");
+
+        PersonVO updated = personServices.update(vo, vo.getVersion());
+        Assert.assertEquals(Long.valueOf(vo.getVersion() + 1), updated.getVersion());
+        Assert.assertEquals("Alain", updated.getFirstName());
+
+        // A ETag devolvida pelo PUT é a que o próximo If-Match precisa mandar
+        PersonVO again = personServices.update(updated, updated.getVersion());
+        Assert.assertEquals(Long.valueOf(updated.getVersion() + 1), again.getVersion());
+    }
+
+    @Test
+    public void disableReturnsTheNewVersion() {
+        PersonVO vo = personServices.findById(personId);
+
+        PersonVO disabled = personServices.disablePerson(personId);
+        Assert.assertEquals(Long.valueOf(vo.getVersion() + 1), disabled.getVersion());
+        Assert.assertFalse(disabled.getEnabled());
+
+        // A versão devolvida pelo PATCH serve de If-Match para o PUT seguinte
+        disabled.setFirstName("Alain");
+        Assert.assertEquals("Alain", personServices.update(disabled, disabled.getVersion()).getFirstName());
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void staleVersionIsRejected() {
+        PersonVO vo = personServices.findById(personId);
+        personServices.update(vo, vo.getVersion());
+        personServices.update(vo, vo.getVersion());
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.PERSONS);
+    }
+}
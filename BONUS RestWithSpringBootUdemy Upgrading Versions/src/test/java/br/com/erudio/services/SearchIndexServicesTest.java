@@ -0,0 +1,124 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.model.Book;
+import br.com.erudio.data.model.Person;
+import br.com.erudio.repository.BookRepository;
+import br.com.erudio.repository.PersonRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchIndexServicesTest {
+
+    private SearchIndexServices services;
+
+    @Before
+    public void setUp() {
+        services = new SearchIndexServices();
+        services.personRepository = Mockito.mock(PersonRepository.class);
+        services.bookRepository = Mockito.mock(BookRepository.class);
+        ReflectionTestUtils.setField(services, "enabled", true);
+        ReflectionTestUtils.setField(services, "countLimit", 100);
+        ReflectionTestUtils.setField(services, "maxRows", 5L);
+
+        List<Person> persons = new ArrayList<>();
+        for (String name : List.of("Leandro", "Alexandra", "Sandra")) {
+            Person person = new Person();
+            person.setId((long) persons.size() + 1);
+            person.setFirstName(name);
+            persons.add(person);
+        }
+        List<Book> books = List.of(book(1, "Clean Code"), book(2, "Refactoring"));
+        Mockito.when(services.personRepository.findByIdGreaterThan(ArgumentMatchers.eq(0L), ArgumentMatchers.any()))
+                .thenReturn(new SliceImpl<>(persons));
+        Mockito.when(services.bookRepository.findByIdGreaterThan(ArgumentMatchers.eq(0L), ArgumentMatchers.any()))
+                .thenReturn(new SliceImpl<>(books));
+    }
+
+    @Test
+    public void searchesTheIndexOnceBuilt() {
+        Assert.assertFalse(services.canSearch("andr"));
+        services.build();
+
+        Assert.assertTrue(services.canSearch("andr"));
+        Assert.assertEquals(List.of(2L, 1L, 3L),
+                services.findPersonIdsByName("andr", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    public void cappedCountIsNotReportedAsTotal() {
+        ReflectionTestUtils.setField(services, "countLimit", 1);
+        services.build();
+
+        Slice<Long> capped = services.findPersonIdsByName("andr", PageRequest.of(0, 1));
+        Assert.assertFalse(capped instanceof Page);
+        Assert.assertEquals(List.of(2L), capped.getContent());
+        Assert.assertTrue(capped.hasNext());
+
+        Slice<Long> exact = services.findPersonIdsByName("and", PageRequest.of(0, 1));
+        Assert.assertEquals(3, ((Page<Long>) exact).getTotalElements());
+    }
+
+    @Test
+    public void deleteDuringBuildIsNotUndone() {
+        // A carga já leu o bloco com a pessoa 3 quando ela é apagada; o putIfAbsent dela vem depois
+        Mockito.when(services.bookRepository.findByIdGreaterThan(ArgumentMatchers.eq(0L), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    services.removePerson(3L);
+                    services.removeBook(1L);
+                    return new SliceImpl<>(List.of(book(1, "Clean Code"), book(2, "Refactoring")));
+                });
+        services.build();
+
+        Assert.assertEquals(List.of(2L, 1L), services.findPersonIdsByName("andr", PageRequest.of(0, 10)).getContent());
+        Assert.assertTrue(services.findBookIdsByTitle("clean", PageRequest.of(0, 10)).isEmpty());
+        // Terminada a carga, remoções deixam de ser guardadas
+        services.indexPerson(3L, "Sandra");
+        Assert.assertEquals(List.of(2L, 1L, 3L), services.findPersonIdsByName("andr", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    public void shortTermsGoToTheDatabase() {
+        services.build();
+
+        Assert.assertFalse(services.canSearch("an"));
+    }
+
+    @Test
+    public void buildAboveMaxRowsFallsBackToTheDatabase() {
+        ReflectionTestUtils.setField(services, "maxRows", 4L);
+        services.build();
+
+        Assert.assertFalse(services.isReady());
+        Assert.assertFalse(services.canSearch("andr"));
+    }
+
+    @Test
+    public void writesAboveMaxRowsDiscardTheIndex() {
+        services.build();
+        services.indexPerson(4L, "Andre");
+
+        Assert.assertFalse(services.canSearch("andr"));
+        // Depois do descarte as escritas não voltam a encher o índice
+        services.removePerson(1L);
+        services.indexPerson(5L, "Andrea");
+        Assert.assertTrue(services.findPersonIdsByName("andr", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private Book book(long id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        return book;
+    }
+}
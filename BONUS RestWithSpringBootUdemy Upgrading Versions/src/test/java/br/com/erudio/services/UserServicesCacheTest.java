@@ -0,0 +1,166 @@
+package br.com.erudio.services;
+
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.data.model.Permission;
+import br.com.erudio.data.model.User;
+import br.com.erudio.secutiry.CachedUserDetails;
+import br.com.erudio.secutiry.UserCacheEntityListener;
+import br.com.erudio.secutiry.jwt.UserDenyList;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+
+// Sem a transação do teste: o cache é transacional e só grava/remove depois de um commit de verdade
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "cache.persons.spec=maximumSize=10",
+        "cache.books.spec=maximumSize=10",
+        "cache.users.spec=maximumSize=10,expireAfterWrite=5m",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({ CacheConfig.class, UserServices.class, UserCacheEntityListener.class, UserDenyList.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserServicesCacheTest {
+
+    @Autowired
+    UserServices userServices;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private Long userId;
+    private Long permissionId;
+
+    @Before
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaction.executeWithoutResult(status -> {
+            Permission permission = new Permission();
+            permission.setDescription("COMMON_USER");
+            entityManager.persist(permission);
+            permissionId = permission.getId();
+
+            User user = new User();
+            user.setUserName("cached");
+            user.setFullName("Cached User");
+            user.setPassword("hash");
+            user.setEnabled(true);
+            user.setPermissions(new ArrayList<>(Collections.singletonList(permission)));
+            entityManager.persist(user);
+            userId = user.getId();
+        });
+        cache().clear();
+    }
+
+    @After
+    public void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            entityManager.remove(entityManager.find(User.class, userId));
+            entityManager.remove(entityManager.find(Permission.class, permissionId));
+        });
+        cache().clear();
+    }
+
+    @Test
+    public void secondLookupIsServedFromCache() {
+        statistics.clear();
+        userServices.loadUserByUsername("cached");
+        userServices.loadUserByUsername("cached");
+
+        Assert.assertEquals(1, statistics.getQueryExecutionCount());
+        Assert.assertNotNull(cache().get("cached"));
+    }
+
+    @Test
+    public void updatingUserEvictsIt() {
+        userServices.loadUserByUsername("cached");
+        transaction.executeWithoutResult(status -> entityManager.find(User.class, userId).setFullName("Renamed"));
+
+        Assert.assertNull(cache().get("cached"));
+    }
+
+    @Test
+    public void updatingPermissionEvictsAllUsers() {
+        userServices.loadUserByUsername("cached");
+        transaction.executeWithoutResult(status -> entityManager.find(Permission.class, permissionId).setDescription("MANAGER"));
+
+        Assert.assertNull(cache().get("cached"));
+    }
+
+    @Test
+    public void changingUserPermissionsEvictsIt() {
+        userServices.loadUserByUsername("cached");
+        transaction.executeWithoutResult(status -> entityManager.find(User.class, userId).getPermissions().clear());
+
+        Assert.assertNull(cache().get("cached"));
+    }
+
+    @Test
+    public void cachesAnImmutableCopyInsteadOfTheEntity() {
+        UserDetails loaded = userServices.loadUserByUsername("cached");
+
+        Assert.assertTrue(loaded instanceof CachedUserDetails);
+        Assert.assertFalse(loaded instanceof CredentialsContainer);
+        Assert.assertEquals("hash", loaded.getPassword());
+        Assert.assertEquals(Collections.singletonList("COMMON_USER"), ((CachedUserDetails) loaded).getRoles());
+        Assert.assertEquals("COMMON_USER", loaded.getAuthorities().iterator().next().getAuthority());
+        try {
+            loaded.getAuthorities().clear();
+            Assert.fail("authorities must be read-only");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void updatePasswordWritesTheFreshEntityAndEvicts() {
+        UserDetails cached = userServices.loadUserByUsername("cached");
+
+        UserDetails updated = userServices.updatePassword(cached, "rehashed");
+
+        Assert.assertEquals("rehashed", updated.getPassword());
+        Assert.assertEquals("hash", cached.getPassword());
+        Assert.assertNull(cache().get("cached"));
+        Assert.assertEquals("rehashed", userServices.loadUserByUsername("cached").getPassword());
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.USERS);
+    }
+}